@@ -0,0 +1,129 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Last supports on the trail of ArcConsistency. Memory used.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents the AC-2001 algorithm. For each arc (z,y) and each value b of z,
+ * it stores the last support of b found in the domain of y: the values of y lower than
+ * the last support are not compatible with b. A value is revised by checking if its last
+ * support is still live, otherwise the search of a new support resumes after it. So each
+ * pair of values of an arc is checked at most once along a branch, and the revisions are
+ * amortized optimal. See the article "Refining the Basic Constraint Propagation
+ * Algorithm" by Christian Bessiere and Jean-Charles Regin (2001).
+ * <p>
+ * The last supports updated inside a level are restored by restore() (see setTrailed()),
+ * so the algorithm can be used by MaintainingArcConsistency.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ */
+public class AC2001 extends ArcConsistency {
+
+	/**
+	 * The last supports. The entry [y][h][b] is the index of the last support in the
+	 * domain of y of the value b of the variable z, where z is the h-th neighbour of y,
+	 * or -1 if no support has been found.
+	 */
+	private int[][][] last = null;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void initialize(CompiledCSP<?> compiled, SparseSetDomains domains) {
+		super.initialize(compiled, domains);
+		int n = compiled.getNumberOfVariables();
+		last = new int[n][][];
+		for (int y = 0; y < n; y++) {
+			int[] neighbours_y = compiled.getNeighbours(y);
+			last[y] = new int[neighbours_y.length][];
+			for (int h = 0; h < neighbours_y.length; h++) {
+				last[y][h] = new int[compiled.getDomainSize(neighbours_y[h])];
+				Arrays.fill(last[y][h], -1);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected boolean revise(int z, int y, int h) {
+		// supports_y[c] is the bitset of the values of z compatible with y <-- c
+		long[][] supports_y = compiled.getSupports(y, h);
+		int[] last_y = last[y][h];
+		int capacity = supports_y.length;
+		boolean revised = false;
+		// the live values are visited backward, so a removal doesn't move the values
+		// still to visit
+		for (int g = domains.size(z) - 1; g >= 0; g--) {
+			int b = domains.getValue(z, g);
+			int c = last_y[b];
+			if (c >= 0 && domains.contains(y, c)) {
+				// the last support is still live
+				continue;
+			}
+			// it resumes the search after the last support
+			boolean supported = false;
+			for (c++; c < capacity && !supported; c++) {
+				if (domains.contains(y, c)) {
+					consistencyChecks++;
+					supported = (supports_y[c][b >>> 6] & (1L << b)) != 0;
+				}
+			}
+			if (supported) {
+				setTrailed(last_y, b, c - 1);
+			} else {
+				domains.remove(z, b);
+				revised = true;
+			}
+		}
+		return revised;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getMemory() {
+		long memory = super.getMemory();
+		if (last != null) {
+			for (int y = 0; y < last.length; y++) {
+				for (int h = 0; h < last[y].length; h++) {
+					memory = memory + 4L * last[y][h].length;
+				}
+			}
+		}
+		return memory;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "AC-2001";
+	}
+
+}
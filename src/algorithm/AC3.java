@@ -0,0 +1,68 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+/**
+ * This class represents the AC-3 algorithm. A value is revised by looking for a support
+ * from the first live value of the neighbour, each time from scratch. See the article
+ * "Consistency in Networks of Relations" by Alan K. Mackworth (1977).
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class AC3 extends ArcConsistency {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected boolean revise(int z, int y, int h) {
+		// supports_y[c] is the bitset of the values of z compatible with y <-- c
+		long[][] supports_y = compiled.getSupports(y, h);
+		boolean revised = false;
+		// the live values are visited backward, so a removal doesn't move the values
+		// still to visit
+		for (int g = domains.size(z) - 1; g >= 0; g--) {
+			int b = domains.getValue(z, g);
+			boolean supported = false;
+			for (int f = 0; f < domains.size(y) && !supported; f++) {
+				consistencyChecks++;
+				long[] supports = supports_y[domains.getValue(y, f)];
+				supported = (supports[b >>> 6] & (1L << b)) != 0;
+			}
+			if (!supported) {
+				domains.remove(z, b);
+				revised = true;
+			}
+		}
+		return revised;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "AC-3";
+	}
+
+}
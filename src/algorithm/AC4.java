@@ -0,0 +1,221 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents the AC-4 algorithm. For each arc (z,y) and each value b of z, it
+ * counts the live supports of b in the domain of y, and for each value c of y it keeps the
+ * list of the values of z supported by c. The counters are computed once by enforce(),
+ * which checks each pair of values of each arc. Then a removal of c only decrements the
+ * counters of the values in its list, and a value is removed when its counter is zero: no
+ * pair is checked again. See the article "Arc and Path Consistency Revisited" by Roger
+ * Mohr and Thomas C. Henderson (1986).
+ * <p>
+ * It suits dense and tight networks, where a revision checks the same pairs many times.
+ * The memory used is proportional to the number of compatible pairs (see getMemory()).
+ * The counters decremented inside a level are restored by restore(), so the algorithm can
+ * be used by MaintainingArcConsistency.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class AC4 extends ArcConsistency {
+
+	/**
+	 * The counters of the supports. The entry [y][h][b] is the number of live values of y
+	 * compatible with the value b of the variable z, where z is the h-th neighbour of y.
+	 */
+	private int[][][] counters = null;
+
+	/**
+	 * The inverse support lists. The entry [y][h][c] contains the values of the variable z
+	 * compatible with y <-- c, where z is the h-th neighbour of y.
+	 */
+	private int[][][][] lists = null;
+
+	/**
+	 * The size of each domain when its removals have been propagated for the last time.
+	 * The values at the positions from size(y) to propagated[y] of the domain of y (see
+	 * SparseSetDomains.getValue()) are the removals still to propagate.
+	 */
+	private int[] propagated = null;
+
+	/**
+	 * The first position of the removals of the variable taken from the queue.
+	 */
+	private int removedStart = 0;
+
+	/**
+	 * The position following the last removal of the variable taken from the queue.
+	 */
+	private int removedEnd = 0;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void initialize(CompiledCSP<?> compiled, SparseSetDomains domains) {
+		super.initialize(compiled, domains);
+		int n = compiled.getNumberOfVariables();
+		counters = new int[n][][];
+		lists = new int[n][][][];
+		for (int y = 0; y < n; y++) {
+			int[] neighbours_y = compiled.getNeighbours(y);
+			counters[y] = new int[neighbours_y.length][];
+			lists[y] = new int[neighbours_y.length][][];
+			for (int h = 0; h < neighbours_y.length; h++) {
+				int capacity = compiled.getDomainSize(neighbours_y[h]);
+				counters[y][h] = new int[capacity];
+				// supports_y[c] is the bitset of the values of z compatible with y <-- c
+				long[][] supports_y = compiled.getSupports(y, h);
+				lists[y][h] = new int[supports_y.length][];
+				for (int c = 0; c < supports_y.length; c++) {
+					int size = 0;
+					for (int w = 0; w < supports_y[c].length; w++) {
+						size = size + Long.bitCount(supports_y[c][w]);
+					}
+					int[] list = new int[size];
+					size = 0;
+					for (int b = 0; b < capacity; b++) {
+						if ((supports_y[c][b >>> 6] & (1L << b)) != 0)
+							list[size++] = b;
+					}
+					lists[y][h][c] = list;
+				}
+			}
+		}
+		propagated = new int[n];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The counters are computed on the current domains, so it must be called before the
+	 * first level is opened.
+	 */
+	public boolean enforce() {
+		int n = compiled.getNumberOfVariables();
+		for (int x = 0; x < n; x++) {
+			propagated[x] = domains.size(x);
+		}
+		// it counts the supports of each value on each arc
+		for (int y = 0; y < n; y++) {
+			int[] neighbours_y = compiled.getNeighbours(y);
+			for (int h = 0; h < neighbours_y.length; h++) {
+				int[] counters_y = counters[y][h];
+				int[][] lists_y = lists[y][h];
+				Arrays.fill(counters_y, 0);
+				// each pair of live values is checked once
+				consistencyChecks = consistencyChecks +
+					(long) domains.size(y) * domains.size(neighbours_y[h]);
+				for (int f = 0; f < domains.size(y); f++) {
+					int[] list = lists_y[domains.getValue(y, f)];
+					for (int g = 0; g < list.length; g++) {
+						counters_y[list[g]]++;
+					}
+				}
+			}
+		}
+		// it removes the values without support. Their removals are propagated by the
+		// queue, so all counters must be computed before.
+		for (int y = 0; y < n; y++) {
+			int[] neighbours_y = compiled.getNeighbours(y);
+			for (int h = 0; h < neighbours_y.length; h++) {
+				int z = neighbours_y[h];
+				int[] counters_y = counters[y][h];
+				for (int g = domains.size(z) - 1; g >= 0; g--) {
+					int b = domains.getValue(z, g);
+					if (counters_y[b] == 0)
+						domains.remove(z, b);
+				}
+			}
+		}
+		return super.enforce();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * It takes the removals of y not still propagated.
+	 */
+	protected void propagating(int y) {
+		removedStart = domains.size(y);
+		removedEnd = propagated[y];
+		setTrailed(propagated, y, removedStart);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * It decrements the counters of the values of z supported by the removals of y.
+	 */
+	protected boolean revise(int z, int y, int h) {
+		int[] counters_y = counters[y][h];
+		int[][] lists_y = lists[y][h];
+		boolean revised = false;
+		for (int p = removedStart; p < removedEnd; p++) {
+			int[] list = lists_y[domains.getValue(y, p)];
+			for (int g = 0; g < list.length; g++) {
+				int b = list[g];
+				// the counters of the removed values are not updated: they are restored
+				// together with the removals of y
+				if (domains.contains(z, b)) {
+					if (counters_y[b] == 1) {
+						domains.remove(z, b);
+						revised = true;
+					} else {
+						setTrailed(counters_y, b, counters_y[b] - 1);
+					}
+				}
+			}
+		}
+		return revised;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getMemory() {
+		long memory = super.getMemory();
+		if (counters != null) {
+			memory = memory + 4L * propagated.length;
+			for (int y = 0; y < counters.length; y++) {
+				for (int h = 0; h < counters[y].length; h++) {
+					memory = memory + 4L * counters[y][h].length;
+					for (int c = 0; c < lists[y][h].length; c++) {
+						memory = memory + 4L * lists[y][h][c].length;
+					}
+				}
+			}
+		}
+		return memory;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "AC-4";
+	}
+
+}
@@ -0,0 +1,306 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.2 (17/10/2026): Trail of the data of the algorithms. Memory used.
+ * 			v.1.1 (17/10/2026): Levels of removals opened and closed by the algorithm.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents a generic algorithm which enforces arc consistency on the
+ * current domains of a compiled CSP: each live value of a variable must have a support
+ * (a compatible live value) in the domain of each neighbour. The values without support
+ * are removed from the domains, so the removals are undone by restore().
+ * <p>
+ * The propagation is driven by a queue of variables whose domain has been reduced. The
+ * data of an algorithm which must be restored with the domains are changed by setTrailed().
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.2
+ */
+public abstract class ArcConsistency {
+
+	/**
+	 * The compiled CSP of reference.
+	 */
+	protected CompiledCSP<?> compiled = null;
+
+	/**
+	 * The current domains.
+	 */
+	protected SparseSetDomains domains = null;
+
+	/**
+	 * The number of consistency checks done.
+	 */
+	protected long consistencyChecks = 0;
+
+	/**
+	 * The queue of variables to propagate, as a circular buffer.
+	 */
+	private int[] queue = null;
+
+	/**
+	 * The head of the queue.
+	 */
+	private int head = 0;
+
+	/**
+	 * The number of variables in the queue.
+	 */
+	private int queueSize = 0;
+
+	/**
+	 * It is true for the variables in the queue.
+	 */
+	private boolean[] inQueue = null;
+
+	/**
+	 * The trail of the data of the algorithm. An entry k records that the entry
+	 * trailIndices[k] of the array trailRows[k] was trailValues[k] before the level which
+	 * changed it.
+	 */
+	private int[][] trailRows = null;
+
+	/**
+	 * The entries saved on the trail.
+	 */
+	private int[] trailIndices = null;
+
+	/**
+	 * The values saved on the trail.
+	 */
+	private int[] trailValues = null;
+
+	/**
+	 * The number of entries of the trail.
+	 */
+	private int trailSize = 0;
+
+	/**
+	 * The start of the trail entries of each level.
+	 */
+	private int[] levelStart = null;
+
+	/**
+	 * It initializes the algorithm on the domains of a compiled CSP.
+	 * @param compiled The compiled CSP.
+	 * @param domains The current domains of its variables.
+	 */
+	public void initialize(CompiledCSP<?> compiled, SparseSetDomains domains) {
+		this.compiled = compiled;
+		this.domains = domains;
+		int n = compiled.getNumberOfVariables();
+		queue = new int[n];
+		inQueue = new boolean[n];
+		head = 0;
+		queueSize = 0;
+		consistencyChecks = 0;
+		// the trail and the levels grow when they are full
+		trailRows = new int[n + 1][];
+		trailIndices = new int[n + 1];
+		trailValues = new int[n + 1];
+		trailSize = 0;
+		levelStart = new int[n + 1];
+	}
+
+	/**
+	 * It enforces arc consistency on all the domains. It returns false if a domain is
+	 * wiped out, true otherwise.
+	 * @return True if the domains are arc consistent, false if a domain is empty.
+	 */
+	public boolean enforce() {
+		for (int x = 0; x < compiled.getNumberOfVariables(); x++) {
+			if (domains.size(x) == 0)
+				return false;
+			enqueue(x);
+		}
+		return propagate();
+	}
+
+	/**
+	 * It restores arc consistency after the domain of the variable x has been reduced.
+	 * It returns false if a domain is wiped out, true otherwise.
+	 * @param x The index of the variable reduced.
+	 * @return True if the domains are arc consistent, false if a domain is empty.
+	 */
+	public boolean propagate(int x) {
+		enqueue(x);
+		return propagate();
+	}
+
+	/**
+	 * It propagates the reductions of the variables in the queue. It returns false if a
+	 * domain is wiped out, true otherwise. The queue is empty at the end.
+	 * @return True if the domains are arc consistent, false if a domain is empty.
+	 */
+	private boolean propagate() {
+		while (queueSize > 0) {
+			int y = dequeue();
+			propagating(y);
+			int[] neighbours_y = compiled.getNeighbours(y);
+			for (int h = 0; h < neighbours_y.length; h++) {
+				int z = neighbours_y[h];
+				if (revise(z, y, h)) {
+					if (domains.size(z) == 0) {
+						clearQueue();
+						return false;
+					}
+					enqueue(z);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * It is called when the variable y is taken from the queue, before the revision of its
+	 * neighbours. By default it does nothing.
+	 * @param y The index of the variable.
+	 */
+	protected void propagating(int y) {
+	}
+
+	/**
+	 * It removes the live values of the variable z which have no support in the domain of
+	 * its neighbour y. It returns true if a value has been removed, false otherwise.
+	 * @param z The index of the variable to revise.
+	 * @param y The index of the neighbour.
+	 * @param h The position of z in the adjacency list of y.
+	 * @return True if the domain of z has been reduced, false otherwise.
+	 */
+	protected abstract boolean revise(int z, int y, int h);
+
+	/**
+	 * It adds a variable to the queue, if it is not still there.
+	 * @param x The index of the variable.
+	 */
+	private void enqueue(int x) {
+		if (!inQueue[x]) {
+			inQueue[x] = true;
+			queue[(head + queueSize) % queue.length] = x;
+			queueSize++;
+		}
+	}
+
+	/**
+	 * It removes the first variable of the queue.
+	 * @return The index of the variable.
+	 */
+	private int dequeue() {
+		int x = queue[head];
+		head = (head + 1) % queue.length;
+		queueSize--;
+		inQueue[x] = false;
+		return x;
+	}
+
+	/**
+	 * It removes all the variables of the queue.
+	 */
+	private void clearQueue() {
+		while (queueSize > 0) {
+			dequeue();
+		}
+	}
+
+	/**
+	 * It opens a new level of removals (see SparseSetDomains.save()). The removals done
+	 * and the data updated by the algorithm from now on are undone by the next call of
+	 * restore().
+	 */
+	public void save() {
+		domains.save();
+		int level = domains.getLevel();
+		if (level == levelStart.length) {
+			levelStart = Arrays.copyOf(levelStart, level * 2);
+		}
+		levelStart[level] = trailSize;
+	}
+
+	/**
+	 * It undoes the removals of the current level and closes it.
+	 */
+	public void restore() {
+		int start = levelStart[domains.getLevel()];
+		while (trailSize > start) {
+			trailSize--;
+			trailRows[trailSize][trailIndices[trailSize]] = trailValues[trailSize];
+			// the row is not referenced by the trail any more
+			trailRows[trailSize] = null;
+		}
+		domains.restore();
+	}
+
+	/**
+	 * It sets an entry of an array of the algorithm. The previous value is restored by 
+	 * restore() if a level is open.
+	 * @param row The array.
+	 * @param index The index of the entry.
+	 * @param value The new value.
+	 */
+	protected void setTrailed(int[] row, int index, int value) {
+		if (domains.getLevel() > 0) {
+			if (trailSize == trailIndices.length) {
+				trailRows = Arrays.copyOf(trailRows, trailSize * 2);
+				trailIndices = Arrays.copyOf(trailIndices, trailSize * 2);
+				trailValues = Arrays.copyOf(trailValues, trailSize * 2);
+			}
+			trailRows[trailSize] = row;
+			trailIndices[trailSize] = index;
+			trailValues[trailSize] = row[index];
+			trailSize++;
+		}
+		row[index] = value;
+	}
+
+	/**
+	 * It returns the number of consistency checks done.
+	 * @return the number of consistency checks.
+	 */
+	public long getConsistencyChecks() {
+		return consistencyChecks;
+	}
+
+	/**
+	 * It returns the approximate memory used by the data of the algorithm, in bytes. The
+	 * domains are not included.
+	 * @return the number of bytes.
+	 */
+	public long getMemory() {
+		if (queue == null)
+			return 0;
+		// the queue, the flags, the levels and the trail (a reference counted as 8 bytes)
+		return 4L * queue.length + inQueue.length + 4L * levelStart.length + 
+			16L * trailIndices.length;
+	}
+
+	/**
+	 * It returns the name of the algorithm.
+	 * @return The name of the algorithm.
+	 */
+	public abstract String toString();
+
+}
@@ -0,0 +1,311 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import csp.*;
+
+/**
+ * This class represents the backmarking search algorithm. It is a backtracking search
+ * which checks each value against the variables already assigned, and it skips the checks
+ * whose result is already known because the variables involved have not changed since
+ * they ran. See the article "A General Backtrack Algorithm That Eliminates Most Redundant
+ * Tests" by John Gaschnig (1977).
+ * <p>
+ * It keeps two arrays (see the article "Hybrid Algorithms for the Constraint Satisfaction
+ * Problem" by Patrick Prosser (1993)):
+ * - the max check level [x][a] (mark): the position of the variable whose check failed
+ *   for the value a of the variable x, or the position before x if all checks succeeded;
+ * - the min backup level [i] (low-unit): the lowest position whose assignment has changed
+ *   since the i-th variable was checked for the last time.
+ * If the max check level of a value is lower than the min backup level, the value fails
+ * again without checks. Otherwise the checks against the positions lower than the min
+ * backup level succeed again, and only the following ones are run.
+ * <p>
+ * It visits the same nodes of a chronological backtracking, with less consistency checks.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class Backmarking<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	/**
+	 * The indices of the variables sorted by the variable-heuristic: the i-th variable of
+	 * the heuristic ordering has the index order[i]. It is built when a search starts.
+	 */
+	protected int[] order = null;
+
+	/**
+	 * The indices of the domain values sorted by the value-heuristic. The entry [x]
+	 * contains the value indices of the variable with index x.
+	 */
+	protected int[][] values = null;
+
+	/**
+	 * The current assignment. The entry [x] is the index of the value assigned to the
+	 * variable with index x.
+	 */
+	protected int[] assignment = null;
+
+	/**
+	 * The max check levels. The entry [x][a] is the position of the variable whose check
+	 * failed for the value a of the variable x, or the position before x if all checks
+	 * succeeded.
+	 */
+	protected int[][] maxCheckLevel = null;
+
+	/**
+	 * The min backup levels. The entry [i] is the lowest position whose assignment has
+	 * changed since the i-th variable was checked for the last time.
+	 */
+	protected int[] minBackupLevel = null;
+
+	/**
+	 * The positions of the variables which share a constraint with the i-th variable and
+	 * precede it in the heuristic ordering, by increasing position.
+	 */
+	private int[][] past = null;
+
+	/**
+	 * The supports of the i-th variable on the variables in past[i]. The entry [i][m][c]
+	 * is the bitset of the values of the i-th variable compatible with the c-th value of
+	 * the m-th past neighbour.
+	 */
+	private long[][][][] pastSupports = null;
+
+	/**
+	 * It initializes the backmarking algorithm.
+	 */
+	public Backmarking() {
+		super();
+	}
+
+	/**
+	 * It initializes the backmarking algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public Backmarking(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		if(csp != null)
+			initialize();
+	}
+
+	/**
+	 * It initializes the marks, the heuristic orderings and the past neighbours.
+	 */
+	private void initialize() {
+		int numberOfVariables = compiled.getNumberOfVariables();
+		order = getVariableOrder();
+		values = getValueOrder();
+		assignment = new int[numberOfVariables];
+		int n = order.length;
+		maxCheckLevel = new int[numberOfVariables][];
+		for (int x = 0; x < numberOfVariables; x++) {
+			maxCheckLevel[x] = new int[compiled.getDomainSize(x)];
+		}
+		minBackupLevel = new int[n];
+		// the past neighbours are the inverse of the future ones
+		initializeFuture(order);
+		int[] size = new int[n];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < future[i].length; k++) {
+				size[future[i][k]]++;
+			}
+		}
+		past = new int[n][];
+		pastSupports = new long[n][][][];
+		for (int j = 0; j < n; j++) {
+			past[j] = new int[size[j]];
+			pastSupports[j] = new long[size[j]][][];
+			size[j] = 0;
+		}
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < future[i].length; k++) {
+				int j = future[i][k];
+				past[j][size[j]] = i;
+				pastSupports[j][size[j]] = futureSupports[i][k];
+				size[j]++;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		if(csp != null && order.length > 0)
+			BM(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		if(csp != null && order.length > 0 && numberOfSolutions > 0)
+			BM(0);
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp != null && order.length > 0)
+			BM(0);
+	}
+
+	/**
+	 * The backmarking algorithm. It assigns the i-th variable of the heuristic ordering.
+	 *
+	 * @param i
+	 *            The index of the next variable to assign following the
+	 *            heuristic ordering.
+	 */
+	protected void BM(int i) {
+		int x = order[i];
+		int[] values_x = values[x];
+		int[] maxCheckLevel_x = maxCheckLevel[x];
+		int low = minBackupLevel[i];
+		int first = firstPastNeighbour(i, low);
+		// For each domain value of the variable x
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			// The assignment x <-- a is ammissible.
+			if (maxCheckLevel_x[a] >= low && checkBackward(i, a, first)) {
+				assignment[x] = a;
+				// It counts the number of nodes visited
+				visitNode();
+				if (i == order.length - 1) {
+					// All variable are assigned.
+					setLastSolution(assignment);
+					counterSolutions++;
+					if(counterSolutions == numberOfSolutions) {
+						// it stops the search
+						stopSearch = true;
+					}
+				} else {
+					// Recursive call. It expands the (i+1)-th variable
+					BM(i + 1);
+				}
+			}
+		}
+		// it goes back to the (i-1)-th variable
+		backup(i, i - 1);
+	}
+
+	/**
+	 * It returns the first position m of past[i] such that past[i][m] is not lower than
+	 * a minimum backup level.
+	 *
+	 * @param i The i-th variable in the heuristic ordering.
+	 * @param low The minimum backup level.
+	 * @return The position in past[i].
+	 */
+	protected int firstPastNeighbour(int i, int low) {
+		int[] past_i = past[i];
+		int first = 0;
+		while (first < past_i.length && past_i[first] < low) {
+			first++;
+		}
+		return first;
+	}
+
+	/**
+	 * It checks the value a of the i-th variable against the past neighbours from the
+	 * first-th one, and it updates its max check level. It returns true if all checks
+	 * succeed, false otherwise.
+	 *
+	 * @param i The i-th variable in the heuristic ordering.
+	 * @param a The index of the value.
+	 * @param first The position in past[i] of the first past neighbour to check.
+	 * @return True if the value is consistent with the past assignments, false otherwise.
+	 */
+	protected boolean checkBackward(int i, int a, int first) {
+		int[] past_i = past[i];
+		long[][][] supports_i = pastSupports[i];
+		for (int m = first; m < past_i.length; m++) {
+			consistencyChecks++;
+			long[] supports = supports_i[m][assignment[order[past_i[m]]]];
+			if ((supports[a >>> 6] & (1L << a)) == 0) {
+				// the check against the past_i[m]-th variable fails
+				maxCheckLevel[order[i]][a] = past_i[m];
+				return false;
+			}
+		}
+		maxCheckLevel[order[i]][a] = i - 1;
+		return true;
+	}
+
+	/**
+	 * It updates the min backup levels when the search goes back from the i-th variable to
+	 * the h-th one: the assignments from the h-th position will change.
+	 *
+	 * @param i The i-th variable in the heuristic ordering.
+	 * @param h The position of the variable to go back to.
+	 */
+	protected void backup(int i, int h) {
+		for (int j = h + 1; j < minBackupLevel.length; j++) {
+			if (minBackupLevel[j] > h)
+				minBackupLevel[j] = h;
+		}
+		// all values of the i-th variable have been checked against the current assignment
+		minBackupLevel[i] = h;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Backmarking with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tBackmarking with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
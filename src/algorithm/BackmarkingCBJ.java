@@ -0,0 +1,200 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents the BM-CBJ (backmarking with conflict-directed backjumping) search
+ * algorithm. The value a of the i-th variable fails because of the variable at its max
+ * check level, also when the checks are skipped, so that position is added to the conflict
+ * set of the i-th variable. When all the values fail, the search jumps back to the last
+ * position of the conflict set as in ForwardCheckingCBJ, and the min backup levels of the
+ * variables jumped over are lowered to it. See the article "Hybrid Algorithms for the
+ * Constraint Satisfaction Problem" by Patrick Prosser (1993).
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class BackmarkingCBJ<T extends Comparable<T>> extends Backmarking<T> {
+
+	/**
+	 * The conflict sets, as bitsets of positions in the heuristic ordering. The entry [i]
+	 * is the conflict set of the i-th variable.
+	 */
+	private long[][] conflicts = null;
+
+	/**
+	 * It initializes the BM-CBJ algorithm.
+	 */
+	public BackmarkingCBJ() {
+		super();
+	}
+
+	/**
+	 * It initializes the BM-CBJ algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public BackmarkingCBJ(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		if(csp != null)
+			conflicts = new long[order.length][(order.length + 63) >>> 6];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		if(csp != null && order.length > 0)
+			BMCBJ(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		if(csp != null && order.length > 0 && numberOfSolutions > 0)
+			BMCBJ(0);
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp != null && order.length > 0)
+			BMCBJ(0);
+	}
+
+	/**
+	 * The BM-CBJ algorithm. It assigns the i-th variable of the heuristic ordering and it
+	 * returns the position of the variable to go back to: i - 1 or less if all values of
+	 * the i-th variable fail, -1 if the search is finished.
+	 *
+	 * @param i
+	 *            The index of the next variable to assign following the
+	 *            heuristic ordering.
+	 * @return The position of the variable to go back to.
+	 */
+	protected int BMCBJ(int i) {
+		int x = order[i];
+		int[] values_x = values[x];
+		int[] maxCheckLevel_x = maxCheckLevel[x];
+		int low = minBackupLevel[i];
+		int first = firstPastNeighbour(i, low);
+		long[] conflicts_i = conflicts[i];
+		Arrays.fill(conflicts_i, 0L);
+		// For each domain value of the variable x
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			// The assignment x <-- a is ammissible.
+			if (maxCheckLevel_x[a] >= low && checkBackward(i, a, first)) {
+				assignment[x] = a;
+				// It counts the number of nodes visited
+				visitNode();
+				if (i == order.length - 1) {
+					// All variable are assigned.
+					setLastSolution(assignment);
+					counterSolutions++;
+					if(counterSolutions == numberOfSolutions) {
+						// it stops the search
+						stopSearch = true;
+					}
+					// the next solutions are searched going back chronologically
+					for (int j = 0; j < i; j++) {
+						conflicts_i[j >>> 6] |= 1L << j;
+					}
+				} else {
+					// Recursive call. It expands the (i+1)-th variable
+					int h = BMCBJ(i + 1);
+					if (h < i) {
+						// the i-th variable is not in the conflict: it jumps over it
+						return h;
+					}
+				}
+			} else {
+				// the variable at the max check level forbids x <-- a
+				int j = maxCheckLevel_x[a];
+				conflicts_i[j >>> 6] |= 1L << j;
+			}
+		}
+		if (stopSearch) {
+			return -1;
+		}
+		int h = -1;
+		for (int w = conflicts_i.length - 1; w >= 0 && h < 0; w--) {
+			if (conflicts_i[w] != 0)
+				h = (w << 6) + 63 - Long.numberOfLeadingZeros(conflicts_i[w]);
+		}
+		if (h >= 0) {
+			// the conflict set of x is merged into the one of the h-th variable
+			long[] conflicts_h = conflicts[h];
+			for (int w = 0; w < conflicts_h.length; w++) {
+				conflicts_h[w] |= conflicts_i[w];
+			}
+			conflicts_h[h >>> 6] &= ~(1L << h);
+		}
+		// it goes back to the h-th variable
+		backup(i, h);
+		return h;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Backmarking with Conflict-Directed Backjumping with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tBackmarking with Conflict-Directed Backjumping with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
@@ -0,0 +1,463 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.3 (17/10/2026): Nogood recording and propagation.
+ * 			v.1.2 (17/10/2026): Nodes counted by visitNode(). Random tie-breaking.
+ * 			v.1.1 (17/10/2026): The heuristic is notified of the domain wipe-outs.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import heuristic.*;
+import csp.*;
+
+/**
+ * This class represents the forward checking search algorithm with a dynamic variable
+ * ordering. At each node it assigns the variable chosen by a DynamicVariableHeuristic on
+ * the current domains (see SparseSetDomains), instead of the next variable of a static
+ * ordering. The variables not still assigned are kept in a VariableHeap, and only the
+ * neighbours whose domain changes are moved, so the choice doesn't scan all variables.
+ * <p>
+ * The variable-heuristic gives only the ordering of the equivalent variables. If a random
+ * generator is set (see setRandom()), the equivalent variables are sorted by a random
+ * permutation, drawn again at each search.
+ * <p>
+ * If a NogoodBase is set, the search stopped by the node limit (see RestartSearch) records
+ * the reduced nld-nogoods of its current branch: for each value v refuted for the variable
+ * x at the depth d, the decisions of the depths before d with x <-- v can't be part of a
+ * solution. The nogoods are propagated by the next searches on the same CSP, so a restart
+ * doesn't explore again the subtrees already refuted.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.3
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class DynamicForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	/**
+	 * The heuristic which chooses the next variable. By default, it is dom/deg.
+	 */
+	protected DynamicVariableHeuristic dynamicHeuristic = new DomainDegreeVariableHeuristic();
+
+	/**
+	 * The compiled CSP on which the heuristic is initialized. While it doesn't change, the
+	 * heuristic keeps what it learned in the previous searches (as the weights of
+	 * dom/wdeg), so the runs of a RestartSearch learn from each other.
+	 */
+	private CompiledCSP<T> initialized = null;
+
+	/**
+	 * The current domains.
+	 */
+	protected SparseSetDomains domains = null;
+
+	/**
+	 * The variables not still assigned.
+	 */
+	protected VariableHeap heap = null;
+
+	/**
+	 * The indices of the domain values sorted by the value-heuristic. The entry [x]
+	 * contains the value indices of the variable with index x.
+	 */
+	protected int[][] values = null;
+
+	/**
+	 * The current assignment. The entry [x] is the index of the value assigned to the
+	 * variable with index x.
+	 */
+	protected int[] assignment = null;
+
+	/**
+	 * The nogood base, or null if nogoods are not recorded.
+	 */
+	protected NogoodBase nogoodBase = null;
+
+	/**
+	 * The variables of the current branch. The entry [d] is the variable assigned at the
+	 * depth d.
+	 */
+	protected int[] decisions = null;
+
+	/**
+	 * The literals of the nogood to record.
+	 */
+	private int[] literals = null;
+
+	/**
+	 * The variables removed from the heap while their comparisons change.
+	 */
+	private int[] changed = null;
+
+	/**
+	 * It is true if a variable has an empty domain before the search.
+	 */
+	private boolean emptyDomain = false;
+
+	/**
+	 * It initializes the dynamic forward checking algorithm.
+	 */
+	public DynamicForwardChecking() {
+		super();
+	}
+
+	/**
+	 * It initializes the dynamic forward checking algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public DynamicForwardChecking(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * It returns the heuristic which chooses the next variable.
+	 * @return The dynamic variable heuristic.
+	 */
+	public DynamicVariableHeuristic getDynamicVariableHeuristic() {
+		return dynamicHeuristic;
+	}
+
+	/**
+	 * It sets the heuristic which chooses the next variable.
+	 * @param dynamicHeuristic The dynamic variable heuristic.
+	 */
+	public void setDynamicVariableHeuristic(DynamicVariableHeuristic dynamicHeuristic) {
+		this.dynamicHeuristic = dynamicHeuristic;
+		this.initialized = null;
+	}
+
+	/**
+	 * It returns the nogood base.
+	 * @return The nogood base, or null.
+	 */
+	public NogoodBase getNogoodBase() {
+		return nogoodBase;
+	}
+
+	/**
+	 * It sets the nogood base. The base is emptied when the search starts on another CSP.
+	 * @param nogoodBase The nogood base, or null to not record nogoods.
+	 */
+	public void setNogoodBase(NogoodBase nogoodBase) {
+		this.nogoodBase = nogoodBase;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		if(csp != null)
+			initialize();
+	}
+
+	/**
+	 * It initializes the domains, the heuristic and the heap of the variables.
+	 */
+	private void initialize() {
+		int numberOfVariables = compiled.getNumberOfVariables();
+		values = getValueOrder();
+		assignment = new int[numberOfVariables];
+		decisions = new int[numberOfVariables];
+		literals = new int[numberOfVariables];
+		changed = new int[numberOfVariables];
+		int[] capacities = new int[numberOfVariables];
+		emptyDomain = false;
+		for (int x = 0; x < numberOfVariables; x++) {
+			capacities[x] = compiled.getDomainSize(x);
+			if (capacities[x] == 0)
+				emptyDomain = true;
+		}
+		domains = new SparseSetDomains(capacities);
+		if (nogoodBase != null) {
+			if (nogoodBase.getCompiled() != compiled)
+				nogoodBase.initialize(compiled);
+			// the values refuted forever are removed before the search
+			if (!nogoodBase.propagateUnits(domains))
+				emptyDomain = true;
+		}
+		if (initialized != compiled) {
+			dynamicHeuristic.initialize(compiled);
+			initialized = compiled;
+		}
+		int[] order = getVariableOrder();
+		if (random != null) {
+			// the ties are broken by a random permutation
+			for (int i = order.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int x = order[i];
+				order[i] = order[j];
+				order[j] = x;
+			}
+		}
+		heap = new VariableHeap(dynamicHeuristic, domains, order);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		if(csp != null && heap.size() > 0 && !emptyDomain)
+			DFC();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		if(csp != null && heap.size() > 0 && !emptyDomain && numberOfSolutions > 0)
+			DFC();
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp != null && heap.size() > 0 && !emptyDomain)
+			DFC();
+	}
+
+	/**
+	 * The forward checking algorithm with dynamic variable ordering. It assigns the
+	 * variable chosen by the heuristic among the variables not still assigned.
+	 */
+	protected void DFC() {
+		int x = heap.removeFirst();
+		int depth = decisions.length - heap.size() - 1;
+		decisions[depth] = x;
+		select(x);
+		int[] values_x = values[x];
+		int l;
+		// For each domain value of the variable x
+		for (l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			// The assignment x <-- a is ammissible.
+			if (domains.contains(x, a)) {
+				assignment[x] = a;
+				// It counts the number of nodes visited
+				visitNode();
+				if (heap.size() == 0) {
+					// All variable are assigned.
+					setLastSolution(assignment);
+					counterSolutions++;
+					if(counterSolutions == numberOfSolutions) {
+						// it stops the search
+						stopSearch = true;
+					}
+				} else {
+					domains.save();
+					if (checkForward(x, a) && (nogoodBase == null ||
+							nogoodBase.propagate(x, a, assignment, heap, domains))) {
+						// Recursive call. It expands the next variable
+						DFC();
+					}
+					// It restore the previous state.
+					restore();
+				}
+			}
+		}
+		if (stopSearch && nodeLimitReached && counterSolutions == 0 && nogoodBase != null) {
+			// the (l-1)-th value was explored when the search stopped
+			recordNogoods(depth, x, l - 1);
+		}
+		deselect(x);
+	}
+
+	/**
+	 * It restores the domains of the last level. The variables changed are out of the heap
+	 * while their domains are restored.
+	 */
+	protected void restore() {
+		int count = 0;
+		int size = domains.getChangedSize();
+		for (int k = 0; k < size; k++) {
+			int y = domains.getChanged(k);
+			if (heap.contains(y)) {
+				heap.remove(y);
+				changed[count] = y;
+				count++;
+			}
+		}
+		domains.restore();
+		attach(count);
+	}
+
+	/**
+	 * It records the reduced nld-nogoods of the depth d: for each value refuted for the
+	 * variable x, the assignments of the depths before d with x <-- v.
+	 * @param d The depth of x.
+	 * @param x The index of the variable.
+	 * @param current The position in values[x] of the value of x in the current branch.
+	 */
+	protected void recordNogoods(int d, int x, int current) {
+		int[] values_x = values[x];
+		for (int l = 0; l < current; l++) {
+			int v = values_x[l];
+			if (domains.contains(x, v)) {
+				// x <-- v and the decisions before are watched first
+				literals[0] = nogoodBase.getLiteral(x, v);
+				for (int e = 0; e < d; e++) {
+					int y = decisions[d - 1 - e];
+					literals[e + 1] = nogoodBase.getLiteral(y, assignment[y]);
+				}
+				nogoodBase.add(literals, d + 1);
+			}
+		}
+	}
+
+	/**
+	 * It tells the heuristic that the variable x is chosen.
+	 * @param x The index of the variable.
+	 */
+	protected void select(int x) {
+		if (dynamicHeuristic.isNeighbourDependent()) {
+			int count = detachNeighbours(x);
+			dynamicHeuristic.assign(x);
+			attach(count);
+		} else {
+			dynamicHeuristic.assign(x);
+		}
+	}
+
+	/**
+	 * It gives back the variable x to the variables not still assigned.
+	 * @param x The index of the variable.
+	 */
+	protected void deselect(int x) {
+		if (dynamicHeuristic.isNeighbourDependent()) {
+			int count = detachNeighbours(x);
+			dynamicHeuristic.unassign(x);
+			attach(count);
+		} else {
+			dynamicHeuristic.unassign(x);
+		}
+		heap.insert(x);
+	}
+
+	/**
+	 * It removes from the heap the neighbours of x not still assigned, before a change of
+	 * their comparisons. They are stored in changed[].
+	 * @param x The index of the variable.
+	 * @return The number of variables removed.
+	 */
+	private int detachNeighbours(int x) {
+		int count = 0;
+		int[] neighbours_x = compiled.getNeighbours(x);
+		for (int h = 0; h < neighbours_x.length; h++) {
+			int y = neighbours_x[h];
+			if (heap.contains(y)) {
+				heap.remove(y);
+				changed[count] = y;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * It inserts again in the heap the first count variables of changed[].
+	 * @param count The number of variables.
+	 */
+	private void attach(int count) {
+		for (int k = 0; k < count; k++) {
+			heap.insert(changed[k]);
+		}
+	}
+
+	/**
+	 * It removes from the domain of each neighbour of x not still assigned the live
+	 * values which are not compatible with the assignment x <-- a. It returns true if no
+	 * domain is wiped out, false otherwise.
+	 *
+	 * @param x The index of the variable assigned.
+	 * @param a The index of the value assigned.
+	 * @return True if all constraints are still consitent, false otherwise.
+	 */
+	protected boolean checkForward(int x, int a) {
+		int[] neighbours_x = compiled.getNeighbours(x);
+		// for each neighbour y which is not still assigned
+		for (int h = 0; h < neighbours_x.length; h++) {
+			int y = neighbours_x[h];
+			if (!heap.contains(y))
+				continue;
+			long[] supports = compiled.getSupports(x, h)[a];
+			int size = domains.size(y);
+			// each live value is checked
+			consistencyChecks = consistencyChecks + size;
+			// the live values are visited backward, so a removal doesn't move the values
+			// still to visit
+			for (int k = size - 1; k >= 0; k--) {
+				int b = domains.getValue(y, k);
+				if ((supports[b >>> 6] & (1L << b)) == 0) {
+					// x forbids the assignment y <-- b
+					domains.remove(y, b);
+				}
+			}
+			if (domains.size(y) < size)
+				heap.update(y);
+			if (domains.size(y) == 0) {
+				// The current domain of y is empty.
+				dynamicHeuristic.wipeOut(x, h);
+				return false;
+			}
+		}
+		return true;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Dynamic Forward Checking with \n\t" +
+    	dynamicHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tDynamic Forward Checking with \n\t - " +
+    	dynamicHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void printStatistics() {
+		super.printStatistics();
+		if (nogoodBase != null)
+			System.out.println("\tNogoods: " + nogoodBase.size() + " (" +
+					nogoodBase.getEvicted() + " evicted)");
+	}
+
+}
@@ -19,38 +19,124 @@
  *
  * Created on: 18/06/2007
  * Modifies:
+ * 			v.1.12 (17/10/2026): Counting of a component visible to subclasses.
+ * 			v.1.11 (17/10/2026): Counting of the solutions by connected components.
+ * 			v.1.10 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.9 (17/10/2026): Variable wiped out by checkForward().
+ * 			v.1.8 (17/10/2026): Arc consistency preprocessing.
+ * 			v.1.7 (17/10/2026): Search state visible to subclasses. Consistency checks.
+ * 			v.1.6 (17/10/2026): Search on the compiled snapshot of the CSP.
+ * 			v.1.5 (17/10/2026): Solver state in arrays indexed by the variable indices.
+ * 			v.1.4 (17/10/2026): Trail of pruned values to restore the previous state.
+ * 			v.1.3 (17/10/2026): Neighbour-only forward checking.
+ * 			v.1.2 (17/10/2026): Consistency checks through the relations index of the CSP.
  * 			v.1.1 (19/06/2007): Class documentation.
  * 			v.1.0 (18/06/2007): Class codify.
  */
 package algorithm;
 
 import java.util.*;
+import java.math.*;
 import csp.*;
 
 /**
  * This class represents the forward checking search algorithm to find solutions of a CSP.
+ * countSolutions() counts the solutions without setting them: the connected components of
+ * the constraint graph are searched one at a time, and their counts are multiplied.
  *  
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.12
  * @param <T> the type of objects that this object may be compared to
  */
 public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T> {
 
 	/**
 	 * A bidimensional matrix used by the forward checking algorithm. The first
-	 * index defines the variable, the second one the domain. So it is a
-	 * non-rectangular bidimensional matrix.
+	 * index defines the variable (its index in the CSP), the second one the domain 
+	 * value (its index in the domain of the variable). So it is a non-rectangular 
+	 * bidimensional matrix.
 	 * 
 	 * It holds the following invariant: 
 	 * - At starts, all assignments are possible, so (for each i, l) [i,l] <-- -1 
 	 * - If the domain value m of the variable var_j cannot be used because it 
 	 *   makes the constraint (var_i,var_j) not consistent for a previous variable 
 	 *   var_i, then [j,m] <-- i.
+	 * - If the domain value m of the variable var_j has been removed by the 
+	 *   preprocessing, then [j,m] <-- N, where N is the number of variables.
 	 * 
 	 * See FC() method and the article "On The Forward Checking Algorithm" by
 	 * Fahiem Bacchus and Adam Grove (BGCP95).
 	 */
-	private HashMap<Variable<T>, int[]> domain;
+	protected int[][] domain;
+	
+	/**
+	 * If it is true, checkForward() and restore() visit only the future variables which
+	 * share a constraint with the variable just assigned. Otherwise they visit all future
+	 * variables. The two modes find the same solutions with the same nodes visited.
+	 */
+	private boolean neighbourChecking = true;
+	
+	/**
+	 * The indices of the variables sorted by the variable-heuristic: the i-th variable of
+	 * the heuristic ordering has the index order[i]. It is built when a search starts.
+	 */
+	protected int[] order = null;
+	
+	/**
+	 * The indices of the domain values sorted by the value-heuristic. The entry [x] 
+	 * contains the value indices of the variable with index x.
+	 */
+	protected int[][] values = null;
+	
+	/**
+	 * The current assignment. The entry [x] is the index of the value assigned to the 
+	 * variable with index x.
+	 */
+	protected int[] assignment = null;
+	
+	/**
+	 * The last position of a variable with an empty domain, or -1. If a variable following
+	 * the i-th one has an empty domain, forward checking from the i-th variable fails.
+	 */
+	private int lastEmptyDomain = -1;
+	
+	/**
+	 * The index of the variable whose domain has been wiped out by the last call of 
+	 * checkForward() which returned false.
+	 */
+	protected int wipedOut = -1;
+	
+	/**
+	 * The trail of pruned values. An entry k records that the value trailValues[k] of
+	 * the variable with index trailVariables[k] has been pruned. The entries pushed by the
+	 * i-th variable start at trailStart[i], so restore() undoes exactly those prunings.
+	 */
+	private int[] trailVariables = null;
+	
+	/**
+	 * The pruned values of the trail.
+	 */
+	private int[] trailValues = null;
+	
+	/**
+	 * The start of the trail entries of each variable in the heuristic ordering.
+	 */
+	private int[] trailStart = null;
+	
+	/**
+	 * The number of entries of the trail.
+	 */
+	private int trailSize = 0;
+	
+	/**
+	 * The arc consistency algorithm run before the search, or null.
+	 */
+	private ArcConsistency preprocessing = null;
+	
+	/**
+	 * It is true if the preprocessing has wiped out a domain, so the CSP has no solution.
+	 */
+	private boolean insoluble = false;
 	
 	/**
 	 * It initializes the forward checking algorithm.
@@ -65,36 +151,74 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	 */
 	public ForwardChecking(CSP<T> csp) {
 		super(csp);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
 		if(csp != null)
 			initialize();
 	}
 	
 	/**
-	 * It initializes the domain structure.
+	 * It initializes the domain structure, the heuristic orderings and the adjacency 
+	 * structure used by the neighbour-only forward checking.
 	 */
 	private void initialize() {
+		int numberOfVariables = compiled.getNumberOfVariables();
+		order = getVariableOrder();
+		values = getValueOrder();
+		assignment = new int[numberOfVariables];
+		int n = order.length;
 		// It initializes the domain structure to -1
-		domain = new HashMap<Variable<T>, int[]>(csp.getVariables().size());
-		Variable<T> var;
-		int[] dom;
-		for (int i = 0; i < csp.getVariables().size(); i++) {
-			var = csp.getVariables().get(i);
-			int domainSize_i = var.getDomain().size();
-			dom = new int[domainSize_i];
-			domain.put(var, dom);
-			for (int j = 0; j < domainSize_i; j++) {
-				dom[j] = -1;
-			}
+		domain = new int[numberOfVariables][];
+		// a value can be pruned at most once along a branch
+		int size = 0;
+		for (int x = 0; x < numberOfVariables; x++) {
+			domain[x] = new int[compiled.getDomainSize(x)];
+			Arrays.fill(domain[x], -1);
+			size = size + domain[x].length;
+		}
+		trailVariables = new int[size];
+		trailValues = new int[size];
+		trailStart = new int[n];
+		trailSize = 0;
+		lastEmptyDomain = -1;
+		for (int i = 0; i < n; i++) {
+			if (domain[order[i]].length == 0)
+				lastEmptyDomain = i;
 		}
+		initializeFuture(order);
+		preprocess();
 	}
 	
 	/**
-	 * {@inheritDoc}
+	 * It enforces arc consistency on the domain structure, if a preprocessing algorithm
+	 * is set. The values removed are never restored during the search.
 	 */
-	public void setCsp(CSP<T> csp) {
-		super.setCsp(csp);
-		if(csp != null)
-			initialize();
+	private void preprocess() {
+		insoluble = false;
+		if (preprocessing == null)
+			return;
+		int numberOfVariables = compiled.getNumberOfVariables();
+		int[] capacities = new int[numberOfVariables];
+		for (int x = 0; x < numberOfVariables; x++) {
+			capacities[x] = domain[x].length;
+		}
+		SparseSetDomains domains = new SparseSetDomains(capacities);
+		preprocessing.initialize(compiled, domains);
+		insoluble = !preprocessing.enforce();
+		consistencyChecks = consistencyChecks + preprocessing.getConsistencyChecks();
+		if (!insoluble) {
+			for (int x = 0; x < numberOfVariables; x++) {
+				for (int a = 0; a < domain[x].length; a++) {
+					if (!domains.contains(x, a))
+						domain[x][a] = order.length;
+				}
+			}
+		}
 	}
 	
 	/**
@@ -103,7 +227,7 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	public void search() {
 		numberOfSolutions = 1;
 		reset();
-		if(csp != null)
+		if(csp != null && order.length > 0 && !insoluble)
 			FC(0);
 	}
 	
@@ -113,7 +237,7 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	public void search(int numberSolutions) {
 		numberOfSolutions = numberSolutions;
 		reset();
-		if(csp != null && numberOfSolutions > 0)
+		if(csp != null && order.length > 0 && numberOfSolutions > 0 && !insoluble)
 			FC(0);
 	}
 	
@@ -123,40 +247,125 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	public void searchAll() {
 		numberOfSolutions = -1;
 		reset();
-		if(csp != null)
+		if(csp != null && order.length > 0 && !insoluble)
 			FC(0);
 	}
+
+	/**
+	 * It counts all solutions. The solutions are neither set nor printed (see 
+	 * setLastSolution()), so the variables and the last solution are not modified.
+	 * The variables are grouped by connected component of the constraint graph, keeping
+	 * the heuristic ordering inside each component. Each component is counted by its own
+	 * search, since forward checking never prunes the values of another component, and 
+	 * the number of solutions is the product of the counts of the components.
+	 * A component has less solutions than the nodes visited, so its count is a long, while
+	 * the product is a BigInteger. getCounterSolutions() returns the count, or
+	 * Integer.MAX_VALUE if it is larger. If the search is stopped by the node limit or by 
+	 * cancellation, the count is not complete.
+	 * 
+	 * @return The number of solutions.
+	 */
+	public BigInteger countSolutions() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp == null || order.length == 0 || insoluble || lastEmptyDomain >= 0)
+			return BigInteger.ZERO;
+		int[] start = groupComponents();
+		BigInteger count = BigInteger.ONE;
+		for (int c = 0; c + 1 < start.length && !stopSearch; c++) {
+			long countComponent = count(start[c], start[c + 1]);
+			count = count.multiply(BigInteger.valueOf(countComponent));
+			if (countComponent == 0)
+				break;
+		}
+		counterSolutions = (count.bitLength() < 32) ? count.intValue() : Integer.MAX_VALUE;
+		return count;
+	}
+	
+	/**
+	 * It sorts the heuristic ordering by connected component of the constraint graph. 
+	 * The components follow the position of their first variable, and the variables of a
+	 * component keep their relative order. The adjacency structure is built again for the
+	 * new ordering.
+	 * 
+	 * @return The start of each component in the ordering, followed by the number of 
+	 * 			variables.
+	 */
+	private int[] groupComponents() {
+		int n = order.length;
+		// component[x] is the component of the variable with index x
+		int[] component = new int[compiled.getNumberOfVariables()];
+		Arrays.fill(component, -1);
+		int[] queue = new int[n];
+		int components = 0;
+		for (int i = 0; i < n; i++) {
+			if (component[order[i]] != -1)
+				continue;
+			// breadth-first visit of the component of the i-th variable
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = order[i];
+			component[order[i]] = components;
+			while (head < tail) {
+				int[] neighbours_x = compiled.getNeighbours(queue[head++]);
+				for (int h = 0; h < neighbours_x.length; h++) {
+					int y = neighbours_x[h];
+					if (component[y] == -1) {
+						component[y] = components;
+						queue[tail++] = y;
+					}
+				}
+			}
+			components++;
+		}
+		int[] start = new int[components + 1];
+		for (int i = 0; i < n; i++) {
+			start[component[order[i]] + 1]++;
+		}
+		for (int c = 0; c < components; c++) {
+			start[c + 1] = start[c + 1] + start[c];
+		}
+		int[] next = Arrays.copyOf(start, components);
+		int[] grouped = new int[n];
+		for (int i = 0; i < n; i++) {
+			grouped[next[component[order[i]]]++] = order[i];
+		}
+		order = grouped;
+		initializeFuture(order);
+		return start;
+	}
 	
 	/**
-	 * It returns true if the constraints between variables var_i and var_j are
-	 * consistent with the assignment val_i and val_j respectively.
+	 * The forward checking algorithm which counts the solutions of the variables at the
+	 * positions i..end-1 of the heuristic ordering, without setting them. It is used by
+	 * countSolutions() for each connected component.
 	 * 
-	 * @param var_i
-	 *            The i-th variable.
-	 * @param var_j
-	 *            The j-th variable.
-	 * @param val_i
-	 *            The value to assign to var_i.
-	 * @param val_j
-	 *            The value to assign to var_j.
-	 * @return True if the constraints are consistent, false otherwise.
-	 */
-	protected boolean isConsistent(Variable<T> var_i, Variable<T> var_j,
-			T val_i, T val_j) {
-		Constraint<T> hc = null;
-		boolean consistent = true;
-		// For each constraint
-		for (int i = 0; i < csp.getConstraints().size() && consistent; i++) {
-			hc = csp.getConstraints().get(i);
-			if (hc.contains(var_i, var_j)) {
-				// The constraint contains var_i and var_j
-				if (!hc.isConsistent(val_i, val_j)) {
-					// The constraint isn't consistent with this assignment.
-					consistent = false;
+	 * @param i The index of the next variable to assign following the heuristic ordering.
+	 * @param end The position following the last variable of the component.
+	 * @return The number of solutions of the subtree.
+	 */
+	protected long count(int i, int end) {
+		int x = order[i];
+		int[] values_x = values[x];
+		int[] domain_x = domain[x];
+		long count = 0;
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			assignment[x] = a;
+			if (domain_x[a] == -1) {
+				visitNode();
+				if (i == end - 1) {
+					// All variable of the component are assigned.
+					count++;
+				} else {
+					if (checkForward(i)) {
+						count = count + count(i + 1, end);
+					}
+					restore(i);
 				}
 			}
 		}
-		return consistent;
+		return count;
 	}
 
 	/**
@@ -172,26 +381,27 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	 */
 	protected void FC(int i) {
 		// The i-th variable is the variable which will be expanded.
-		// It gets the i-th variable from the list of variables of heuristic.
+		// It gets the i-th variable from the heuristic ordering.
 		// So it is possible to change the original ordering of variable
 		// selection.
 		// Moreover, it is independent from the particular heuristic used.
-		Variable<T> var_i = nextVariableHeuristic.getVariables().get(i);
-		// It obtains the domain of the variable var_i
-		// It is independent from the particular heuristic used.
-		LinkedList<T> domain_i = nextValueHeuristic.getDomain(var_i);
-		// For each domain value of the variable var_i
-		for (int l = 0; l < domain_i.size() && !stopSearch; l++) {
-			// It assign the l-th domain value to var_i
-			var_i.assign(domain_i.get(l));
+		int x = order[i];
+		// It obtains the domain of the variable x sorted by the value-heuristic.
+		int[] values_x = values[x];
+		int[] domain_x = domain[x];
+		// For each domain value of the variable x
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			// It assign the l-th domain value to x
+			int a = values_x[l];
+			assignment[x] = a;
 			// It tests if the current assignment sounds good.
-			// The assignment var_i <-- l is ammissible.
-			if (domain.get(var_i)[l] == -1) {
+			// The assignment x <-- a is ammissible.
+			if (domain_x[a] == -1) {
 				// It counts the number of nodes visited
-				nodesVisited++;
-				if (i == csp.getVariables().size() - 1) {
+				visitNode();
+				if (i == order.length - 1) {
 					// All variable are assigned.
-					setLastSolution();
+					setLastSolution(assignment);
 					counterSolutions++;
 					if(counterSolutions == numberOfSolutions) {
 						// it stops the search
@@ -199,7 +409,7 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 					}
 				} else {
 					// Not all variable are assigned
-					// It checks forward if constraints between var_i and
+					// It checks forward if constraints between x and
 					// not assigned variables are consistent
 					if (checkForward(i)) {
 						// Recursive call. It expands the (i+1)-th variable
@@ -223,46 +433,52 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	 * @return True if all constraints are still consitent, false otherwise.
 	 */
 	protected boolean checkForward(int i) {
-		// It gets the i-th variable from the list of variables of heuristic.
-		Variable<T> var_i = nextVariableHeuristic.getVariables().get(i);
-		// dwo means domain wipe-out. If the constraint between var_i and var_j,
-		// respectively with the assignment var_i.getAssignment() and m-th
-		// domain value
-		// of var_j is consistent, dwo is setted to false. Otherwise it remains
-		// true
-		// and the entry [j,m] in domain is setted to i (the index of the i-th
-		// expanded
-		// variable var_i).
-		boolean dwo = true;
-		Variable<T> var_j = null;
-		LinkedList<T> domain_j = null;
+		trailStart[i] = trailSize;
+		if (lastEmptyDomain > i) {
+			// a variable not still assigned has an empty domain
+			wipedOut = order[lastEmptyDomain];
+			return false;
+		}
+		if (neighbourChecking) {
+			return checkNeighbours(i);
+		}
+		int a = assignment[order[i]];
+		int[] future_i = future[i];
+		int k = 0;
 		// for each variable var_j which is not still assigned
-		for (int j = i + 1; j < csp.getVariables().size(); j++) {
-			dwo = true;
-			// it obtains the j-th variable
-			var_j = nextVariableHeuristic.getVariables().get(j);
-			// it obtains the domain of var_j
-			domain_j = nextValueHeuristic.getDomain(var_j); 
-			// for each domain value of the variable var_j
-			for (int m = 0; m < domain_j.size(); m++) {
-				// It tests if the m-th domain value of var_j sounds good
-				// The assignment var_j <-- m is until now ammissible.
-				if (domain.get(var_j)[m] == -1) {
-					if (isConsistent(var_i, var_j, var_i.getAssignment(),
-							domain_j.get(m))) {
-						// The constraint is consistent with this assignment
-						dwo = false;
-					} else {
-						// the constraint is not consistent
-						// The assignment var_j <-- m is not ammissible.
-						// i-th var forbids the assignment var_j <-- m
-						domain.get(var_j)[m] = i;
-					}
+		for (int j = i + 1; j < order.length; j++) {
+			if (k < future_i.length && future_i[k] == j) {
+				// var_j shares a constraint with var_i
+				if (!revise(order[j], futureSupports[i][k][a], i)) {
+					wipedOut = order[j];
+					return false;
 				}
+				k++;
+			} else if (!revise(order[j], null, i)) {
+				wipedOut = order[j];
+				return false;
 			}
-			// NOTE: if at least one constraint is consistent, dwo is false.
-			if (dwo) {
+		}
+		return true;
+	}
+
+	/**
+	 * It checks forward only the variables not still assigned which share a constraint
+	 * with var_i. The other variables cannot lose domain values, so the result is the same
+	 * as the check on all variables.
+	 * 
+	 * @param i The i-th variable in the heuristic ordering.
+	 * @return True if all constraints are still consitent, false otherwise.
+	 */
+	protected boolean checkNeighbours(int i) {
+		int a = assignment[order[i]];
+		int[] future_i = future[i];
+		long[][][] supports_i = futureSupports[i];
+		// for each neighbour var_j which is not still assigned
+		for (int k = 0; k < future_i.length; k++) {
+			if (!revise(order[future_i[k]], supports_i[k][a], i)) {
 				// The current domain of var_j is empty.
+				wipedOut = order[future_i[k]];
 				return false;
 			}
 		}
@@ -270,40 +486,123 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
 	}
 
 	/**
-	 * It restores the previous state.
+	 * It prunes the values of the variable y which are not in supports, on behalf of the
+	 * i-th variable. If supports is null, no value is pruned. It returns false if the 
+	 * domain of y is wiped out, true otherwise.
+	 * 
+	 * @param y The index of the variable to check.
+	 * @param supports The bitset of the values of y compatible with the i-th variable.
+	 * @param i The i-th variable in the heuristic ordering.
+	 * @return True if the domain of y is not empty, false otherwise.
+	 */
+	private boolean revise(int y, long[] supports, int i) {
+		// dwo means domain wipe-out. If a value of y is compatible with the 
+		// assignment of the i-th variable, dwo is setted to false. 
+		boolean dwo = true;
+		int[] domain_y = domain[y];
+		// for each domain value of the variable y
+		for (int b = 0; b < domain_y.length; b++) {
+			// The assignment y <-- b is until now ammissible.
+			if (domain_y[b] == -1) {
+				if (supports == null) {
+					dwo = false;
+				} else if ((supports[b >>> 6] & (1L << b)) != 0) {
+					consistencyChecks++;
+					dwo = false;
+				} else {
+					consistencyChecks++;
+					// i-th var forbids the assignment y <-- b
+					prune(y, b, i);
+				}
+			}
+		}
+		return !dwo;
+	}
+
+	/**
+	 * It prunes the m-th value of a variable on behalf of the i-th variable,
+	 * and records it on the trail.
+	 * 
+	 * @param index_j The index of the variable to prune.
+	 * @param m The index of the value to prune.
+	 * @param i The i-th variable in the heuristic ordering.
+	 */
+	private void prune(int index_j, int m, int i) {
+		domain[index_j][m] = i;
+		trailVariables[trailSize] = index_j;
+		trailValues[trailSize] = m;
+		trailSize++;
+	}
+
+	/**
+	 * It restores the previous state. Only the values pruned by the i-th variable are
+	 * visited, by popping the trail.
 	 * 
 	 * @param i
 	 *            The i-th variable in the heuristic ordering.
 	 */
 	protected void restore(int i) {
-		Variable<T> var_j = null;
-		LinkedList<T> domain_j = null;
-		// for each variable var_j that follows var_i
-		for (int j = i + 1; j < csp.getVariables().size(); j++) {
-			// it obtains the j-th variable
-			var_j = nextVariableHeuristic.getVariables().get(j);
-			// it obtains the domain of var_j
-			domain_j = nextValueHeuristic.getDomain(var_j);
-			// for each domain value of the variable var_j
-			for (int m = 0; m < domain_j.size(); m++) {
-				// if the domain value is not consistent respect with a
-				// constraint
-				if (domain.get(var_j)[m] == i) {
-					// i-th var forbids the assignment var_j <-- m
-					// it resets the value to -1
-					domain.get(var_j)[m] = -1;
-				}
-			}
+		int start = trailStart[i];
+		while (trailSize > start) {
+			trailSize--;
+			// it resets the value to -1
+			domain[trailVariables[trailSize]][trailValues[trailSize]] = -1;
 		}
 	}
 	
+	/**
+	 * It returns true if forward checking visits only the neighbours of the variable 
+	 * just assigned, false if it visits all variables not still assigned.
+	 * @return True if the neighbour-only forward checking is used, false otherwise.
+	 */
+	public boolean isNeighbourChecking() {
+		return neighbourChecking;
+	}
+
+	/**
+	 * It sets the neighbour-only forward checking. If it is true, forward checking visits 
+	 * only the neighbours of the variable just assigned in the constraint graph. 
+	 * Otherwise it visits all variables not still assigned.
+	 * @param neighbourChecking True to use the neighbour-only forward checking.
+	 */
+	public void setNeighbourChecking(boolean neighbourChecking) {
+		this.neighbourChecking = neighbourChecking;
+	}
+	
+	/**
+	 * It returns the arc consistency algorithm run before the search, or null.
+	 * @return the preprocessing algorithm.
+	 */
+	public ArcConsistency getPreprocessing() {
+		return preprocessing;
+	}
+
+	/**
+	 * It sets the arc consistency algorithm run before the search. The values without
+	 * support are removed before the first assignment. If it is null, no preprocessing
+	 * is done.
+	 * @param preprocessing An arc consistency algorithm, or null.
+	 */
+	public void setPreprocessing(ArcConsistency preprocessing) {
+		this.preprocessing = preprocessing;
+	}
+
+	/**
+	 * It returns true if the preprocessing of the last search has wiped out a domain, so
+	 * the CSP has no solution and no node has been visited.
+	 * @return True if the preprocessing proved the CSP insoluble, false otherwise.
+	 */
+	public boolean isInsoluble() {
+		return insoluble;
+	}
+	
     // PRINT METHODS
     /**
      * It returns the name of the algorithm.
      * @return The name of the algorithm.
      */
     public String toString() {
-    	return "Forward Checking with \n\t" + 
+    	return "Forward Checking" + preprocessingName() + " with \n\t" + 
     	nextVariableHeuristic.toString() + "\n\t" +
     	nextValueHeuristic.toString();
     }
@@ -314,9 +613,17 @@ public class ForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T>
      */
     public void printAlgorithm() {
     	System.out.println("Search Algorithm:");
-    	System.out.println("\tForward Checking with \n\t - " + 
+    	System.out.println("\tForward Checking" + preprocessingName() + " with \n\t - " + 
     	nextVariableHeuristic.toString() + "\n\t - " +
     	nextValueHeuristic.toString());
     }
 	
+    /**
+     * It returns the name of the preprocessing, or an empty string.
+     * @return The name of the preprocessing.
+     */
+    protected String preprocessingName() {
+    	return (preprocessing == null) ? "" : " (" + preprocessing.toString() + " preprocessing)";
+    }
+	
 }
@@ -0,0 +1,224 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents the FC-CBJ (forward checking with conflict-directed backjumping)
+ * search algorithm. Each variable of the heuristic ordering has a conflict set: the
+ * variables assigned before it which caused the failure of its values. When all the
+ * values of a variable fail, the search jumps back to the last variable of its conflict
+ * set, over the variables which did not cause the failure, and the conflict set is merged
+ * into the one of that variable. See the article "Hybrid Algorithms for the Constraint
+ * Satisfaction Problem" by Patrick Prosser (1993).
+ * <p>
+ * The variables which caused the failure of a variable are read from the domain structure
+ * of ForwardChecking: the value m of var_j pruned by the i-th variable has [j,m] == i. It
+ * finds the same solutions of ForwardChecking and it visits at most the same nodes.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class ForwardCheckingCBJ<T extends Comparable<T>> extends ForwardChecking<T> {
+
+	/**
+	 * The conflict sets, as bitsets of positions in the heuristic ordering. The entry [i]
+	 * is the conflict set of the i-th variable.
+	 */
+	private long[][] conflicts = null;
+
+	/**
+	 * It initializes the FC-CBJ algorithm.
+	 */
+	public ForwardCheckingCBJ() {
+		super();
+	}
+
+	/**
+	 * It initializes the FC-CBJ algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public ForwardCheckingCBJ(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		if(csp != null)
+			conflicts = new long[order.length][(order.length + 63) >>> 6];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		if(csp != null && order.length > 0 && !isInsoluble())
+			FCCBJ(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		if(csp != null && order.length > 0 && numberOfSolutions > 0 && !isInsoluble())
+			FCCBJ(0);
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp != null && order.length > 0 && !isInsoluble())
+			FCCBJ(0);
+	}
+
+	/**
+	 * The FC-CBJ algorithm. It assigns the i-th variable of the heuristic ordering and it
+	 * returns the position of the variable to go back to: i - 1 or less if all values of
+	 * the i-th variable fail, -1 if the search is finished.
+	 *
+	 * @param i
+	 *            The index of the next variable to assign following the
+	 *            heuristic ordering.
+	 * @return The position of the variable to go back to.
+	 */
+	protected int FCCBJ(int i) {
+		int x = order[i];
+		int[] values_x = values[x];
+		int[] domain_x = domain[x];
+		long[] conflicts_i = conflicts[i];
+		Arrays.fill(conflicts_i, 0L);
+		// For each domain value of the variable x
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			assignment[x] = a;
+			// The assignment x <-- a is ammissible.
+			if (domain_x[a] == -1) {
+				// It counts the number of nodes visited
+				visitNode();
+				if (i == order.length - 1) {
+					// All variable are assigned.
+					setLastSolution(assignment);
+					counterSolutions++;
+					if(counterSolutions == numberOfSolutions) {
+						// it stops the search
+						stopSearch = true;
+					}
+					// the next solutions are searched going back chronologically
+					for (int j = 0; j < i; j++) {
+						conflicts_i[j >>> 6] |= 1L << j;
+					}
+				} else if (checkForward(i)) {
+					// Recursive call. It expands the (i+1)-th variable
+					int h = FCCBJ(i + 1);
+					restore(i);
+					if (h < i) {
+						// the i-th variable is not in the conflict: it jumps over it
+						return h;
+					}
+				} else {
+					// the variables which pruned the domain wiped out are in conflict
+					addPruningVariables(conflicts_i, wipedOut, i);
+					restore(i);
+				}
+			}
+		}
+		if (stopSearch) {
+			return -1;
+		}
+		// all values of x fail: the variables which pruned x are in conflict too
+		addPruningVariables(conflicts_i, x, i);
+		int h = -1;
+		for (int w = conflicts_i.length - 1; w >= 0 && h < 0; w--) {
+			if (conflicts_i[w] != 0)
+				h = (w << 6) + 63 - Long.numberOfLeadingZeros(conflicts_i[w]);
+		}
+		if (h >= 0) {
+			// the conflict set of x is merged into the one of the h-th variable
+			long[] conflicts_h = conflicts[h];
+			for (int w = 0; w < conflicts_h.length; w++) {
+				conflicts_h[w] |= conflicts_i[w];
+			}
+			conflicts_h[h >>> 6] &= ~(1L << h);
+		}
+		return h;
+	}
+
+	/**
+	 * It adds to a conflict set the positions of the variables, before the i-th one, which
+	 * pruned the values of the variable y.
+	 *
+	 * @param conflicts_i The conflict set.
+	 * @param y The index of the variable.
+	 * @param i The i-th variable in the heuristic ordering.
+	 */
+	private void addPruningVariables(long[] conflicts_i, int y, int i) {
+		int[] domain_y = domain[y];
+		for (int b = 0; b < domain_y.length; b++) {
+			int j = domain_y[b];
+			// -1 is a live value, order.length a value removed by the preprocessing
+			if (j >= 0 && j < i) {
+				conflicts_i[j >>> 6] |= 1L << j;
+			}
+		}
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Forward Checking with Conflict-Directed Backjumping" + preprocessingName() +
+    	" with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tForward Checking with Conflict-Directed Backjumping" +
+    	preprocessingName() + " with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
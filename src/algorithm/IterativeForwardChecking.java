@@ -0,0 +1,392 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.6 (17/10/2026): Solution returned by the iterator not shared with the last solution.
+ * 			v.1.5 (17/10/2026): Counting of the solutions driven by the explicit stack.
+ * 			v.1.4 (17/10/2026): Search without a CSP or not started is finished.
+ * 			v.1.3 (17/10/2026): Lazy iterator of the solutions.
+ * 			v.1.2 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.1 (17/10/2026): Arc consistency preprocessing.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents the forward checking search algorithm driven by an explicit
+ * stack instead of the recursion of FC(). The depth of the search is not limited by the
+ * thread stack, and it visits the same nodes of ForwardChecking.
+ * <p>
+ * The search can be suspended between two nodes and resumed later, also by another
+ * thread (but not by two threads at the same time):
+ * <pre>
+ *   fc.start(numberSolutions);
+ *   while(!fc.resume(nodes)) {
+ *       // other work, or fc.getPartialAssignment() to inspect the search
+ *   }
+ * </pre>
+ * search(), search(int) and searchAll() start a search and resume it until it ends. If
+ * suspend() is called during the search, they return before the end, and the search
+ * can be completed by resume().
+ * countSolutions() counts each connected component with the explicit stack too, but it
+ * can't be suspended.
+ * <p>
+ * solutions() returns the solutions as a lazy iterator: the search is resumed by
+ * hasNext() and suspended after each solution, so the consumer sets the pace and only
+ * the solution returned is kept in memory:
+ * <pre>
+ *   Iterator&lt;int[]&gt; it = fc.solutions();
+ *   while(it.hasNext()) {
+ *       fc.printSolution(it.next());
+ *   }
+ * </pre>
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.6
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class IterativeForwardChecking<T extends Comparable<T>> extends ForwardChecking<T> {
+
+	/**
+	 * The explicit stack. The entry next[i] is the position, in the value ordering of the
+	 * i-th variable, of the next value to try.
+	 */
+	private int[] next = null;
+
+	/**
+	 * The current depth: the variables at the positions 0..depth-1 of the heuristic
+	 * ordering are assigned, the variable at the position depth is being expanded.
+	 * It is -1 when the search is finished.
+	 */
+	private int depth = -1;
+
+	/**
+	 * It is true if the search must be suspended at the next node.
+	 */
+	private volatile boolean suspendRequested = false;
+
+	/**
+	 * It is true if the search is run by an iterator of solutions: it is suspended after
+	 * each solution, which is kept in found instead of being set by setLastSolution().
+	 */
+	private boolean streaming = false;
+
+	/**
+	 * The solution found and not still returned by the iterator, or null.
+	 */
+	private int[] found = null;
+
+	/**
+	 * It initializes the iterative forward checking algorithm.
+	 */
+	public IterativeForwardChecking() {
+		super();
+	}
+
+	/**
+	 * It initializes the iterative forward checking algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public IterativeForwardChecking(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		start(1);
+		resume();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		start(numberSolutions);
+		resume();
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		start(-1);
+		resume();
+	}
+
+	/**
+	 * It prepares a new search, without visiting any node. The search is run by resume().
+	 * @param numberSolutions The number of solutions to find, or -1 to find all solutions.
+	 */
+	public void start(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		depth = -1;
+		streaming = false;
+		found = null;
+		if(csp != null && order.length > 0 && (numberOfSolutions > 0 || numberOfSolutions == -1)
+				&& !isInsoluble()) {
+			next = new int[order.length];
+			depth = 0;
+		}
+	}
+
+	/**
+	 * It runs the search until it ends or it is suspended.
+	 * @return True if the search is finished, false if it is suspended.
+	 */
+	public boolean resume() {
+		return resume(Long.MAX_VALUE);
+	}
+
+	/**
+	 * It runs the search until it ends, it is suspended or it visits the given number of
+	 * nodes.
+	 * @param nodes The maximum number of nodes to visit.
+	 * @return True if the search is finished (or it was not started), false if it is 
+	 * suspended.
+	 */
+	public boolean resume(long nodes) {
+		// there is no search to run without a CSP or before start()
+		if (depth < 0)
+			return true;
+		long limit = (nodes > Long.MAX_VALUE - nodesVisited) ? Long.MAX_VALUE : nodesVisited + nodes;
+		int n = order.length;
+		while (depth >= 0) {
+			if (stopSearch) {
+				depth = -1;
+				break;
+			}
+			if (suspendRequested || nodesVisited >= limit) {
+				suspendRequested = false;
+				return false;
+			}
+			int i = depth;
+			int x = order[i];
+			int[] values_x = values[x];
+			int[] domain_x = domain[x];
+			// it looks for the next ammissible value of the i-th variable
+			int l = next[i];
+			while (l < values_x.length && domain_x[values_x[l]] != -1) {
+				l++;
+			}
+			if (l == values_x.length) {
+				// the values of the i-th variable are exhausted: it goes up the tree
+				depth--;
+				if (depth >= 0)
+					restore(depth);
+				continue;
+			}
+			next[i] = l + 1;
+			assignment[x] = values_x[l];
+			// It counts the number of nodes visited
+			visitNode();
+			if (i == n - 1) {
+				// All variable are assigned.
+				if (streaming) {
+					// the consumer receives its own copy of the solution
+					found = assignment.clone();
+					keepLastSolution(assignment);
+				} else {
+					setLastSolution(assignment);
+				}
+				counterSolutions++;
+				if(counterSolutions == numberOfSolutions) {
+					// it stops the search
+					stopSearch = true;
+				}
+				if (streaming) {
+					// it waits for the consumer of the solution
+					return false;
+				}
+			} else if (checkForward(i)) {
+				// it expands the (i+1)-th variable
+				depth++;
+				next[depth] = 0;
+			} else {
+				// It restore the previous state.
+				restore(i);
+			}
+		}
+		suspendRequested = false;
+		return true;
+	}
+
+	/**
+	 * The forward checking algorithm which counts the solutions of the variables at the
+	 * positions first..end-1 of the heuristic ordering, without setting them. It visits
+	 * the same nodes of ForwardChecking.count() with the explicit stack, and the search is
+	 * finished when it returns.
+	 * 
+	 * @param first The position of the first variable of the component.
+	 * @param end The position following the last variable of the component.
+	 * @return The number of solutions of the subtree.
+	 */
+	protected long count(int first, int end) {
+		if (next == null || next.length != order.length)
+			next = new int[order.length];
+		long count = 0;
+		depth = first;
+		next[first] = 0;
+		while (depth >= first && !stopSearch) {
+			int i = depth;
+			int x = order[i];
+			int[] values_x = values[x];
+			int[] domain_x = domain[x];
+			// it looks for the next ammissible value of the i-th variable
+			int l = next[i];
+			while (l < values_x.length && domain_x[values_x[l]] != -1) {
+				l++;
+			}
+			if (l == values_x.length) {
+				// the values of the i-th variable are exhausted: it goes up the tree
+				depth--;
+				if (depth >= first)
+					restore(depth);
+				continue;
+			}
+			next[i] = l + 1;
+			assignment[x] = values_x[l];
+			visitNode();
+			if (i == end - 1) {
+				// All variable of the component are assigned.
+				count++;
+			} else if (checkForward(i)) {
+				// it expands the (i+1)-th variable
+				depth++;
+				next[depth] = 0;
+			} else {
+				restore(i);
+			}
+		}
+		// if the search is stopped, the variables still assigned are restored
+		for (int i = depth - 1; i >= first; i--) {
+			restore(i);
+		}
+		depth = -1;
+		return count;
+	}
+
+	/**
+	 * It starts a search of all solutions and it returns them as a lazy iterator.
+	 * @return The iterator of the solutions.
+	 * @see #solutions(int)
+	 */
+	public Iterator<int[]> solutions() {
+		return solutions(-1);
+	}
+
+	/**
+	 * It starts a search and it returns its solutions as a lazy iterator. Each solution is
+	 * a new array: the entry [x] is the index of the value of the variable with index x
+	 * (see CompiledCSP.getValue()). The search runs only inside hasNext(), until the next
+	 * solution is found, and the solutions are neither written in the variables nor 
+	 * printed. The iterator is no longer valid if another search is started.
+	 * @param numberSolutions The number of solutions to find, or -1 to find all solutions.
+	 * @return The iterator of the solutions.
+	 */
+	public Iterator<int[]> solutions(int numberSolutions) {
+		start(numberSolutions);
+		streaming = true;
+		return new Iterator<int[]>() {
+			public boolean hasNext() {
+				while (found == null && !isFinished()) {
+					resume();
+				}
+				return found != null;
+			}
+			public int[] next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int[] solution = found;
+				found = null;
+				return solution;
+			}
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * It asks the running search to suspend itself at the next node. It can be called by
+	 * any thread.
+	 */
+	public void suspend() {
+		suspendRequested = true;
+	}
+
+	/**
+	 * It returns true if the search is finished, false if it is suspended.
+	 * @return True if the search is finished, false otherwise.
+	 */
+	public boolean isFinished() {
+		return depth < 0;
+	}
+
+	/**
+	 * It returns the number of variables assigned by the current node of a suspended
+	 * search.
+	 * @return the depth of the search.
+	 */
+	public int getDepth() {
+		return (depth < 0) ? 0 : depth;
+	}
+
+	/**
+	 * It returns the assignment of the current node of a suspended search, in the
+	 * heuristic ordering of the variables.
+	 * @return The partial assignment.
+	 */
+	public LinkedHashMap<Variable<T>, T> getPartialAssignment() {
+		LinkedHashMap<Variable<T>, T> partial = new LinkedHashMap<Variable<T>, T>();
+		for (int i = 0; i < getDepth(); i++) {
+			partial.put(compiled.getVariable(order[i]), compiled.getValue(order[i], assignment[order[i]]));
+		}
+		return partial;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Iterative Forward Checking" + preprocessingName() + " with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tIterative Forward Checking" + preprocessingName() + " with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
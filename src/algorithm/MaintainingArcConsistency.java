@@ -0,0 +1,238 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.2 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.1 (17/10/2026): Levels saved and restored through the arc consistency algorithm.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import csp.*;
+
+/**
+ * This class represents the MAC (Maintaining Arc Consistency) search algorithm to find
+ * solutions of a CSP. Arc consistency is enforced before the search and restored after
+ * each assignment, so it removes more values than forward checking and it visits less
+ * nodes, at the cost of more consistency checks for each node. See the article
+ * "Contradicting Conventional Wisdom in Constraint Satisfaction" by Daniel Sabin and
+ * Eugene C. Freuder (1994).
+ * <p>
+ * The arc consistency algorithm is AC-3 by default (see setArcConsistency()), AC2001 can
+ * be used instead.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.2
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class MaintainingArcConsistency<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	/**
+	 * The arc consistency algorithm.
+	 */
+	private ArcConsistency arcConsistency = new AC3();
+
+	/**
+	 * The current domains.
+	 */
+	private SparseSetDomains domains = null;
+
+	/**
+	 * The indices of the variables sorted by the variable-heuristic: the i-th variable of
+	 * the heuristic ordering has the index order[i]. It is built when a search starts.
+	 */
+	private int[] order = null;
+
+	/**
+	 * The indices of the domain values sorted by the value-heuristic. The entry [x]
+	 * contains the value indices of the variable with index x.
+	 */
+	private int[][] values = null;
+
+	/**
+	 * The current assignment. The entry [x] is the index of the value assigned to the
+	 * variable with index x.
+	 */
+	private int[] assignment = null;
+
+	/**
+	 * It initializes the MAC algorithm.
+	 */
+	public MaintainingArcConsistency() {
+		super();
+	}
+
+	/**
+	 * It initializes the MAC algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public MaintainingArcConsistency(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		if(csp != null)
+			initialize();
+	}
+
+	/**
+	 * It initializes the domains, the heuristic orderings and the arc consistency
+	 * algorithm.
+	 */
+	private void initialize() {
+		int numberOfVariables = compiled.getNumberOfVariables();
+		order = getVariableOrder();
+		values = getValueOrder();
+		assignment = new int[numberOfVariables];
+		int[] capacities = new int[numberOfVariables];
+		for (int x = 0; x < numberOfVariables; x++) {
+			capacities[x] = compiled.getDomainSize(x);
+		}
+		domains = new SparseSetDomains(capacities);
+		arcConsistency.initialize(compiled, domains);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		if(csp != null && order.length > 0)
+			start();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		if(csp != null && order.length > 0 && numberOfSolutions > 0)
+			start();
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp != null && order.length > 0)
+			start();
+	}
+
+	/**
+	 * It enforces arc consistency on the problem and, if no domain is empty, it starts
+	 * the search.
+	 */
+	private void start() {
+		if (arcConsistency.enforce())
+			MAC(0);
+		consistencyChecks = arcConsistency.getConsistencyChecks();
+	}
+
+	/**
+	 * The MAC algorithm. It assigns the i-th variable of the heuristic ordering.
+	 *
+	 * @param i
+	 *            The index of the next variable to assign following the
+	 *            heuristic ordering.
+	 */
+	protected void MAC(int i) {
+		int x = order[i];
+		int[] values_x = values[x];
+		// For each domain value of the variable x
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			assignment[x] = a;
+			// The assignment x <-- a is ammissible.
+			if (domains.contains(x, a)) {
+				// It counts the number of nodes visited
+				visitNode();
+				if (i == order.length - 1) {
+					// All variable are assigned.
+					setLastSolution(assignment);
+					counterSolutions++;
+					if(counterSolutions == numberOfSolutions) {
+						// it stops the search
+						stopSearch = true;
+					}
+				} else {
+					arcConsistency.save();
+					// the domain of x is reduced to a
+					for (int h = domains.size(x) - 1; h >= 0; h--) {
+						if (domains.getValue(x, h) != a)
+							domains.remove(x, domains.getValue(x, h));
+					}
+					if (arcConsistency.propagate(x)) {
+						// Recursive call. It expands the (i+1)-th variable
+						MAC(i + 1);
+					}
+					// It restore the previous state.
+					arcConsistency.restore();
+				}
+			}
+		}
+	}
+
+	/**
+	 * It returns the arc consistency algorithm.
+	 * @return the arc consistency algorithm.
+	 */
+	public ArcConsistency getArcConsistency() {
+		return arcConsistency;
+	}
+
+	/**
+	 * It sets the arc consistency algorithm used by the next searches.
+	 * @param arcConsistency An arc consistency algorithm.
+	 */
+	public void setArcConsistency(ArcConsistency arcConsistency) {
+		this.arcConsistency = arcConsistency;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "MAC (" + arcConsistency.toString() + ") with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tMAC (" + arcConsistency.toString() + ") with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
@@ -0,0 +1,553 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Nogood to evict kept on top of a heap.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import csp.*;
+
+/**
+ * This class represents a base of nogoods on a compiled CSP. A nogood is a set of
+ * assignments x <-- a (literals) which can't be all part of a solution. The nogoods with
+ * one literal remove a value forever; the longer ones are propagated with two watched
+ * literals: each nogood is visited only when one of its two watched literals becomes true,
+ * and when all its literals but one are true, the value of the last one is removed.
+ * <p>
+ * The base is bounded: nogoods longer than getMaxLength() are not recorded, and when the
+ * base has getCapacity() nogoods a nogood is evicted by the eviction policy (OLDEST,
+ * LONGEST or LEAST_USED). The nogoods are kept in a heap ordered by the policy, so the
+ * nogood to evict is found in constant time and the heap is updated in logarithmic time.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ */
+public class NogoodBase {
+
+	// EVICTION POLICIES
+	/**
+	 * The oldest nogood is evicted.
+	 */
+	public static final int OLDEST = 1;
+
+	/**
+	 * The longest nogood is evicted; among the longest, the oldest.
+	 */
+	public static final int LONGEST = 2;
+
+	/**
+	 * The nogood which removed the fewest values is evicted; among them, the oldest.
+	 */
+	public static final int LEAST_USED = 3;
+
+	/**
+	 * The maximum number of nogoods with at least two literals.
+	 */
+	private int capacity = 10000;
+
+	/**
+	 * The maximum number of literals of a nogood.
+	 */
+	private int maxLength = 20;
+
+	/**
+	 * The eviction policy.
+	 */
+	private int policy = LEAST_USED;
+
+	/**
+	 * The compiled CSP of reference.
+	 */
+	private CompiledCSP<?> compiled = null;
+
+	/**
+	 * The first literal of each variable: the literal x <-- a is base[x] + a.
+	 */
+	private int[] base = null;
+
+	/**
+	 * The variable of each literal.
+	 */
+	private int[] literalVariable = null;
+
+	/**
+	 * The nogoods. The first size entries are used; the literals at positions 0 and 1 are
+	 * watched.
+	 */
+	private int[][] nogoods = null;
+
+	/**
+	 * The number of values removed by each nogood.
+	 */
+	private long[] uses = null;
+
+	/**
+	 * The time of recording of each nogood.
+	 */
+	private long[] times = null;
+
+	/**
+	 * The heap of the nogoods, ordered by the eviction policy: the first entry is the
+	 * nogood to evict. It contains the first size nogoods.
+	 */
+	private int[] evictionHeap = null;
+
+	/**
+	 * The position of each nogood in the heap.
+	 */
+	private int[] evictionPosition = null;
+
+	/**
+	 * The number of nogoods recorded, used as time.
+	 */
+	private long clock = 0;
+
+	/**
+	 * The number of nogoods with at least two literals.
+	 */
+	private int size = 0;
+
+	/**
+	 * The watch lists. The entry [p] contains the nogoods which watch the literal p.
+	 */
+	private int[][] watches = null;
+
+	/**
+	 * The length of each watch list.
+	 */
+	private int[] watchSizes = null;
+
+	/**
+	 * The literals of the nogoods with one literal.
+	 */
+	private int[] units = new int[16];
+
+	/**
+	 * The number of nogoods with one literal.
+	 */
+	private int unitSize = 0;
+
+	/**
+	 * The number of nogoods evicted.
+	 */
+	private long evicted = 0;
+
+	/**
+	 * It initializes an empty base with the default bounds and eviction policy.
+	 */
+	public NogoodBase() {
+	}
+
+	/**
+	 * It initializes an empty base.
+	 * @param capacity The maximum number of nogoods with at least two literals.
+	 * @param maxLength The maximum number of literals of a nogood.
+	 * @param policy The eviction policy (OLDEST, LONGEST or LEAST_USED).
+	 */
+	public NogoodBase(int capacity, int maxLength, int policy) {
+		setCapacity(capacity);
+		setMaxLength(maxLength);
+		setPolicy(policy);
+	}
+
+	/**
+	 * It empties the base and prepares it for a compiled CSP.
+	 * @param compiled The compiled CSP.
+	 */
+	public void initialize(CompiledCSP<?> compiled) {
+		this.compiled = compiled;
+		int numberOfVariables = compiled.getNumberOfVariables();
+		base = new int[numberOfVariables + 1];
+		for (int x = 0; x < numberOfVariables; x++) {
+			base[x + 1] = base[x] + compiled.getDomainSize(x);
+		}
+		int numberOfLiterals = base[numberOfVariables];
+		literalVariable = new int[numberOfLiterals];
+		for (int x = 0; x < numberOfVariables; x++) {
+			Arrays.fill(literalVariable, base[x], base[x + 1], x);
+		}
+		nogoods = new int[capacity][];
+		uses = new long[capacity];
+		times = new long[capacity];
+		evictionHeap = new int[capacity];
+		evictionPosition = new int[capacity];
+		watches = new int[numberOfLiterals][];
+		watchSizes = new int[numberOfLiterals];
+		clock = 0;
+		size = 0;
+		unitSize = 0;
+		evicted = 0;
+	}
+
+	/**
+	 * It returns the compiled CSP of reference, or null if the base is not initialized.
+	 * @return the compiled CSP.
+	 */
+	public CompiledCSP<?> getCompiled() {
+		return compiled;
+	}
+
+	/**
+	 * It returns the literal of the assignment x <-- a.
+	 * @param x The index of the variable.
+	 * @param a The index of the value.
+	 * @return The literal.
+	 */
+	public int getLiteral(int x, int a) {
+		return base[x] + a;
+	}
+
+	/**
+	 * It records a nogood. If it is longer than the maximum length, it is ignored. If the
+	 * base is full, a nogood is evicted before. The first two literals are watched, so they
+	 * should be the last ones to become true.
+	 * @param literals The literals of the nogood, copied.
+	 * @param length The number of literals.
+	 */
+	public void add(int[] literals, int length) {
+		if (length == 0 || length > maxLength)
+			return;
+		if (length == 1) {
+			if (unitSize == units.length)
+				units = Arrays.copyOf(units, unitSize * 2);
+			units[unitSize] = literals[0];
+			unitSize++;
+			return;
+		}
+		int c;
+		if (size < capacity) {
+			c = size;
+			evictionHeap[size] = c;
+			evictionPosition[c] = size;
+			size++;
+		} else {
+			// the nogood to evict is the first of the heap
+			c = evictionHeap[0];
+			unwatch(c, nogoods[c][0]);
+			unwatch(c, nogoods[c][1]);
+			evicted++;
+		}
+		nogoods[c] = Arrays.copyOf(literals, length);
+		uses[c] = 0;
+		times[c] = clock;
+		clock++;
+		fix(evictionPosition[c]);
+		watch(c, literals[0]);
+		watch(c, literals[1]);
+	}
+
+	/**
+	 * It removes the values of the nogoods with one literal. It returns false if a domain
+	 * is wiped out.
+	 * @param domains The current domains.
+	 * @return False if a domain is wiped out, true otherwise.
+	 */
+	public boolean propagateUnits(SparseSetDomains domains) {
+		for (int k = 0; k < unitSize; k++) {
+			int y = literalVariable[units[k]];
+			int b = units[k] - base[y];
+			if (domains.contains(y, b)) {
+				domains.remove(y, b);
+				if (domains.size(y) == 0)
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * It propagates the assignment x <-- a. Each nogood which watches it moves the watch to
+	 * a literal not true, or, if all its other literals are true, it removes the value of
+	 * its last literal. It returns false if a domain is wiped out.
+	 * @param x The index of the variable assigned.
+	 * @param a The index of the value assigned.
+	 * @param assignment The current assignment.
+	 * @param heap The variables not still assigned.
+	 * @param domains The current domains.
+	 * @return False if a domain is wiped out, true otherwise.
+	 */
+	public boolean propagate(int x, int a, int[] assignment, VariableHeap heap,
+			SparseSetDomains domains) {
+		int p = base[x] + a;
+		int[] watches_p = watches[p];
+		int w = 0;
+		while (w < watchSizes[p]) {
+			int c = watches_p[w];
+			int[] nogood = nogoods[c];
+			// the true literal is moved to the position 1
+			if (nogood[0] == p) {
+				nogood[0] = nogood[1];
+				nogood[1] = p;
+			}
+			int q = nogood[0];
+			int y = literalVariable[q];
+			int b = q - base[y];
+			if (!heap.contains(y) ? assignment[y] != b : !domains.contains(y, b)) {
+				// the other watched literal is false, so the nogood is satisfied
+				w++;
+				continue;
+			}
+			// it looks for a literal not true to watch
+			boolean moved = false;
+			for (int k = 2; k < nogood.length && !moved; k++) {
+				int r = nogood[k];
+				int z = literalVariable[r];
+				if (heap.contains(z) || assignment[z] != r - base[z]) {
+					nogood[1] = r;
+					nogood[k] = p;
+					watch(c, r);
+					// the last entry of the list takes the place of c
+					watchSizes[p]--;
+					watches_p[w] = watches_p[watchSizes[p]];
+					moved = true;
+				}
+			}
+			if (moved)
+				continue;
+			// all literals but q are true
+			if (!heap.contains(y)) {
+				// y <-- b is true too: it doesn't happen if the nogoods are propagated
+				return false;
+			}
+			domains.remove(y, b);
+			uses[c]++;
+			if (policy == LEAST_USED)
+				siftDown(evictionPosition[c]);
+			heap.update(y);
+			if (domains.size(y) == 0)
+				return false;
+			w++;
+		}
+		return true;
+	}
+
+	/**
+	 * It returns true if the nogood c must be evicted before the nogood d, following the
+	 * eviction policy. The ties are broken by the time of recording, so the order is total.
+	 * @param c The position of a nogood.
+	 * @param d The position of another nogood.
+	 * @return True if c is evicted before d, false otherwise.
+	 */
+	private boolean precedes(int c, int d) {
+		switch (policy) {
+		case LONGEST:
+			if (nogoods[c].length != nogoods[d].length)
+				return nogoods[c].length > nogoods[d].length;
+			break;
+		case LEAST_USED:
+			if (uses[c] != uses[d])
+				return uses[c] < uses[d];
+			break;
+		}
+		return times[c] < times[d];
+	}
+
+	/**
+	 * It moves the nogood at the position p of the heap to its place, after its key has
+	 * changed in any way.
+	 * @param p The position in the heap.
+	 */
+	private void fix(int p) {
+		int c = evictionHeap[p];
+		siftDown(p);
+		siftUp(evictionPosition[c]);
+	}
+
+	/**
+	 * It moves up the nogood at the position p of the heap.
+	 * @param p The position in the heap.
+	 */
+	private void siftUp(int p) {
+		int c = evictionHeap[p];
+		while (p > 0) {
+			int parent = (p - 1) >>> 1;
+			int d = evictionHeap[parent];
+			if (!precedes(c, d))
+				break;
+			evictionHeap[p] = d;
+			evictionPosition[d] = p;
+			p = parent;
+		}
+		evictionHeap[p] = c;
+		evictionPosition[c] = p;
+	}
+
+	/**
+	 * It moves down the nogood at the position p of the heap.
+	 * @param p The position in the heap.
+	 */
+	private void siftDown(int p) {
+		int c = evictionHeap[p];
+		while (true) {
+			int child = 2 * p + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && precedes(evictionHeap[child + 1], evictionHeap[child]))
+				child++;
+			int d = evictionHeap[child];
+			if (!precedes(d, c))
+				break;
+			evictionHeap[p] = d;
+			evictionPosition[d] = p;
+			p = child;
+		}
+		evictionHeap[p] = c;
+		evictionPosition[c] = p;
+	}
+
+	/**
+	 * It adds the nogood c to the watch list of the literal p.
+	 * @param c The position of the nogood.
+	 * @param p The literal.
+	 */
+	private void watch(int c, int p) {
+		if (watches[p] == null) {
+			watches[p] = new int[4];
+		} else if (watchSizes[p] == watches[p].length) {
+			watches[p] = Arrays.copyOf(watches[p], watchSizes[p] * 2);
+		}
+		watches[p][watchSizes[p]] = c;
+		watchSizes[p]++;
+	}
+
+	/**
+	 * It removes the nogood c from the watch list of the literal p.
+	 * @param c The position of the nogood.
+	 * @param p The literal.
+	 */
+	private void unwatch(int c, int p) {
+		int[] watches_p = watches[p];
+		for (int w = 0; w < watchSizes[p]; w++) {
+			if (watches_p[w] == c) {
+				watchSizes[p]--;
+				watches_p[w] = watches_p[watchSizes[p]];
+				return;
+			}
+		}
+	}
+
+	/**
+	 * It returns the number of nogoods in the base.
+	 * @return the number of nogoods.
+	 */
+	public int size() {
+		return size + unitSize;
+	}
+
+	/**
+	 * It returns the number of nogoods evicted.
+	 * @return the number of nogoods evicted.
+	 */
+	public long getEvicted() {
+		return evicted;
+	}
+
+	/**
+	 * It returns the maximum number of nogoods with at least two literals.
+	 * @return the capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * It sets the maximum number of nogoods with at least two literals. It is used by the
+	 * next initialize().
+	 * @param capacity the capacity to set.
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity > 0)
+			this.capacity = capacity;
+	}
+
+	/**
+	 * It returns the maximum number of literals of a nogood.
+	 * @return the maximum length.
+	 */
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * It sets the maximum number of literals of a nogood.
+	 * @param maxLength the maximum length to set.
+	 */
+	public void setMaxLength(int maxLength) {
+		if (maxLength > 0)
+			this.maxLength = maxLength;
+	}
+
+	/**
+	 * It returns the eviction policy.
+	 * @return the eviction policy.
+	 */
+	public int getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * It sets the eviction policy.
+	 * @param policy the eviction policy to set (OLDEST, LONGEST or LEAST_USED).
+	 */
+	public void setPolicy(int policy) {
+		if (policy >= OLDEST && policy <= LEAST_USED && policy != this.policy) {
+			this.policy = policy;
+			// the heap is ordered again by the new policy
+			for (int p = size / 2 - 1; p >= 0; p--) {
+				siftDown(p);
+			}
+		}
+	}
+
+	/**
+	 * It returns the memory used by the base, in bytes. It counts 4 bytes for each int and
+	 * 8 bytes for each long.
+	 * @return the memory used.
+	 */
+	public long getMemory() {
+		if (compiled == null)
+			return 0;
+		long memory = 4L * (base.length + literalVariable.length + watchSizes.length +
+				units.length + evictionHeap.length + evictionPosition.length) + 
+				8L * (uses.length + times.length);
+		for (int c = 0; c < size; c++) {
+			memory = memory + 4L * nogoods[c].length;
+		}
+		for (int p = 0; p < watches.length; p++) {
+			if (watches[p] != null)
+				memory = memory + 4L * watches[p].length;
+		}
+		return memory;
+	}
+
+	/**
+	 * It returns the name of the base.
+	 * @return The name of the base.
+	 */
+	public String toString() {
+		String name = (policy == OLDEST) ? "oldest" : ((policy == LONGEST) ? "longest" : "least used");
+		return "Nogood Base (" + capacity + " nogoods of at most " + maxLength +
+			" literals, " + name + " evicted)";
+	}
+
+}
@@ -0,0 +1,818 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.3 (17/10/2026): No search for a non positive number of solutions.
+ * 			v.1.2 (17/10/2026): Solutions printed without writing the variables.
+ * 			v.1.1 (17/10/2026): Decomposition mode.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import csp.*;
+
+/**
+ * This class represents the forward checking search algorithm run in parallel by a
+ * fork/join pool. The search tree is split at the nodes whose depth is lower than the
+ * split depth: each consistent child of such a node is a task, with its own copy of the
+ * domains, of the assignment and of the trail. The tasks are forked, so the idle threads
+ * of the pool steal the open subtrees. Below the split depth, a task runs the sequential
+ * forward checking of ForwardChecking on its subtree.
+ * <p>
+ * The static ordering of the variables and the supports of the compiled CSP are built
+ * once and shared read-only by all tasks. Each task counts its own nodes, consistency
+ * checks and solutions, and the counters are summed when the tasks are joined, so the
+ * threads don't share any counter during the search. When the requested solutions are
+ * found, a shared stop flag stops all tasks. searchAll() visits the same nodes of
+ * ForwardChecking, while search() and search(numberSolutions) may visit more nodes,
+ * since the children of the nodes above the split depth are checked before they are
+ * searched.
+ * <p>
+ * In the DECOMPOSITION mode, the tree is not split while it is searched: the consistent
+ * partial assignments of the variables above the split depth are enumerated first (with
+ * forward checking), and each one is an independent subproblem. The subproblems are
+ * queued in an executor and solved in any order by its threads. Each subproblem is
+ * stored only as the values of its variables, and the thread which solves it assigns
+ * them again, checking forward from the root (these checks are not counted, since they
+ * have been counted by the enumeration). It is the static decomposition of the
+ * embarrassingly parallel search, a baseline for the WORK_STEALING mode.
+ * <p>
+ * The node limit (see SearchAlgorithm.setNodeLimit()) is not used by this algorithm.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.3
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class ParallelForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	// MODES
+	/**
+	 * The tree is split in tasks while it is searched, and the idle threads steal them.
+	 */
+	public static final int WORK_STEALING = 1;
+
+	/**
+	 * The subproblems are enumerated before they are searched by the threads.
+	 */
+	public static final int DECOMPOSITION = 2;
+
+	/**
+	 * The number of tasks for each thread which the automatic split depth aims at.
+	 */
+	private static final int TASKS_PER_THREAD = 16;
+
+	/**
+	 * The number of subproblems for each thread which the automatic split depth aims at
+	 * in the DECOMPOSITION mode.
+	 */
+	private static final int SUBPROBLEMS_PER_THREAD = 30;
+
+	/**
+	 * The parallel mode.
+	 */
+	private int mode = WORK_STEALING;
+
+	/**
+	 * The indices of the variables sorted by the variable-heuristic: the i-th variable of
+	 * the heuristic ordering has the index order[i]. It is built when a search starts.
+	 */
+	private int[] order = null;
+
+	/**
+	 * The indices of the domain values sorted by the value-heuristic. The entry [x]
+	 * contains the value indices of the variable with index x.
+	 */
+	private int[][] values = null;
+
+	/**
+	 * The last position of a variable with an empty domain, or -1. If a variable following
+	 * the i-th one has an empty domain, forward checking from the i-th variable fails.
+	 */
+	private int lastEmptyDomain = -1;
+
+	/**
+	 * The depth of the nodes whose children are not split in tasks, or -1 if it is chosen
+	 * from the domain sizes and the parallelism.
+	 */
+	private int splitDepth = -1;
+
+	/**
+	 * The split depth of the current search.
+	 */
+	private int depth = 0;
+
+	/**
+	 * The number of threads of the pool created by a search.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The pool which runs the tasks, or null if each search creates a new pool.
+	 */
+	private ForkJoinPool pool = null;
+
+	/**
+	 * The executor which solves the subproblems, or null if each search creates a new one.
+	 */
+	private ExecutorService executor = null;
+
+	/**
+	 * The subproblems enumerated by the current search, in the DECOMPOSITION mode. Each
+	 * one holds the values of the variables above the split depth, by heuristic ordering.
+	 */
+	private List<int[]> subproblems = null;
+
+	/**
+	 * It is true if all tasks must stop.
+	 */
+	private volatile boolean stop = false;
+
+	/**
+	 * The number of solutions found, if the number of solutions to search is limited.
+	 */
+	private final AtomicInteger found = new AtomicInteger();
+
+	/**
+	 * It is true if a solution has been set during the search.
+	 */
+	private boolean reported = false;
+
+	/**
+	 * It initializes the parallel forward checking algorithm.
+	 */
+	public ParallelForwardChecking() {
+		super();
+	}
+
+	/**
+	 * It initializes the parallel forward checking algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public ParallelForwardChecking(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * It initializes the parallel forward checking algorithm with a csp and a mode.
+	 * @param csp A CSP.
+	 * @param mode The parallel mode (WORK_STEALING or DECOMPOSITION).
+	 */
+	public ParallelForwardChecking(CSP<T> csp, int mode) {
+		super(csp);
+		setMode(mode);
+	}
+
+	/**
+	 * It returns the parallel mode.
+	 * @return the mode.
+	 */
+	public int getMode() {
+		return mode;
+	}
+
+	/**
+	 * It sets the parallel mode.
+	 * @param mode the mode (WORK_STEALING or DECOMPOSITION).
+	 */
+	public void setMode(int mode) {
+		if(mode == WORK_STEALING || mode == DECOMPOSITION)
+			this.mode = mode;
+	}
+
+	/**
+	 * It returns the split depth, or -1 if it is chosen automatically.
+	 * @return the split depth.
+	 */
+	public int getSplitDepth() {
+		return splitDepth;
+	}
+
+	/**
+	 * It sets the split depth: the children of the nodes whose depth is lower than it are
+	 * searched by different tasks. In the DECOMPOSITION mode, it is the number of
+	 * variables assigned by each subproblem. If it is -1, the split depth is the lowest 
+	 * one with at least TASKS_PER_THREAD tasks (or SUBPROBLEMS_PER_THREAD subproblems) for 
+	 * each thread, as if no value was pruned.
+	 * @param splitDepth the split depth, or -1.
+	 */
+	public void setSplitDepth(int splitDepth) {
+		if(splitDepth >= -1)
+			this.splitDepth = splitDepth;
+	}
+
+	/**
+	 * It returns the number of threads of the pool created by a search.
+	 * @return the parallelism.
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * It sets the number of threads of the pool created by a search. It is not used if
+	 * a pool is set.
+	 * @param parallelism the parallelism, greater than 0.
+	 */
+	public void setParallelism(int parallelism) {
+		if(parallelism > 0)
+			this.parallelism = parallelism;
+	}
+
+	/**
+	 * It returns the pool which runs the tasks.
+	 * @return the pool, or null.
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * It sets the pool which runs the tasks. It is not shut down by the algorithm. If it
+	 * is null, each search runs on a new pool with getParallelism() threads.
+	 * @param pool the pool, or null.
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * It returns the executor which solves the subproblems in the DECOMPOSITION mode.
+	 * @return the executor, or null.
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * It sets the executor which solves the subproblems in the DECOMPOSITION mode. It is
+	 * not shut down by the algorithm. If it is null, each search creates a new executor 
+	 * with getParallelism() threads.
+	 * @param executor the executor, or null.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * It returns the number of subproblems enumerated by the last search in the
+	 * DECOMPOSITION mode.
+	 * @return the number of subproblems.
+	 */
+	public int getNumberOfSubproblems() {
+		return (subproblems == null) ? 0 : subproblems.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		stop = false;
+		found.set(0);
+		reported = false;
+		if(csp != null)
+			initialize();
+	}
+
+	/**
+	 * It initializes the heuristic orderings, the adjacency structure and the split depth.
+	 */
+	private void initialize() {
+		order = getVariableOrder();
+		values = getValueOrder();
+		lastEmptyDomain = -1;
+		for (int i = 0; i < order.length; i++) {
+			if (compiled.getDomainSize(order[i]) == 0)
+				lastEmptyDomain = i;
+		}
+		initializeFuture(order);
+		depth = splitDepth;
+		if (depth == -1) {
+			int threads = parallelism;
+			long target = (long)TASKS_PER_THREAD * threads;
+			if (mode == DECOMPOSITION) {
+				if (executor instanceof ThreadPoolExecutor)
+					threads = ((ThreadPoolExecutor)executor).getMaximumPoolSize();
+				target = (long)SUBPROBLEMS_PER_THREAD * threads;
+			} else if (pool != null) {
+				target = (long)TASKS_PER_THREAD * pool.getParallelism();
+			}
+			long tasks = 1;
+			depth = 0;
+			while (depth < order.length - 1 && tasks < target) {
+				tasks = tasks * Math.max(1, compiled.getDomainSize(order[depth]));
+				depth++;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		solve();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		solve();
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		solve();
+	}
+
+	/**
+	 * It searches the tree from the root in the pool, then it sums the counters of the
+	 * tasks.
+	 */
+	private void solve() {
+		reset();
+		subproblems = null;
+		// -1 searches all solutions, the other non positive numbers search nothing
+		if(csp == null || order.length == 0 || numberOfSolutions == 0 || numberOfSolutions < -1)
+			return;
+		Worker root = new Worker();
+		if (mode == DECOMPOSITION) {
+			decompose(root);
+		} else {
+			steal(root);
+		}
+		nodesVisited = root.nodes;
+		consistencyChecks = root.checks;
+		counterSolutions = (int)root.solutions;
+		if(!reported && root.last != null)
+			setLastSolution(root.last);
+	}
+
+	/**
+	 * It searches the tree from the root by work stealing.
+	 * @param root The state of the root.
+	 */
+	private void steal(Worker root) {
+		ForkJoinPool service = pool;
+		if(service == null)
+			service = new ForkJoinPool(parallelism);
+		try {
+			service.invoke(new Subtree(0, root));
+		} finally {
+			if(pool == null)
+				service.shutdown();
+		}
+	}
+
+	/**
+	 * It enumerates the subproblems from the root, then it solves them in the executor.
+	 * The counters of the subproblems are added to the ones of the root.
+	 * @param root The state of the root.
+	 */
+	private void decompose(Worker root) {
+		subproblems = new ArrayList<int[]>();
+		if (depth == 0) {
+			// the whole tree is a subproblem
+			subproblems.add(new int[0]);
+		} else {
+			root.enumerate(0);
+		}
+		if (subproblems.isEmpty() || stop)
+			return;
+		ExecutorService service = executor;
+		if(service == null)
+			service = Executors.newFixedThreadPool(parallelism);
+		List<Future<Worker>> futures = new ArrayList<Future<Worker>>(subproblems.size());
+		try {
+			for (final int[] subproblem : subproblems) {
+				futures.add(service.submit(new Callable<Worker>() {
+					public Worker call() {
+						Worker worker = new Worker();
+						if (!stop && worker.replay(subproblem))
+							worker.FC(depth);
+						return worker;
+					}
+				}));
+			}
+			for (Future<Worker> future : futures) {
+				Worker worker = future.get();
+				root.add(worker);
+			}
+		} catch (InterruptedException e) {
+			stop = true;
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			stop = true;
+			throw new IllegalStateException("A subproblem failed", e.getCause());
+		} finally {
+			if(executor == null)
+				service.shutdown();
+		}
+	}
+
+	/**
+	 * It sets the last solution found by a task, and prints it.
+	 * @param assignment The assignment of all variables.
+	 */
+	private synchronized void report(int[] assignment) {
+		setLastSolution(assignment);
+		reported = true;
+	}
+
+	/**
+	 * This class represents a task which searches the subtree of a node.
+	 */
+	private class Subtree extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The position in the heuristic ordering of the variable to assign.
+		 */
+		private final int i;
+
+		/**
+		 * The search state of the task.
+		 */
+		private final Worker worker;
+
+		/**
+		 * It initializes the task of a node.
+		 * @param i The position of the variable to assign.
+		 * @param worker The search state at the node.
+		 */
+		Subtree(int i, Worker worker) {
+			this.i = i;
+			this.worker = worker;
+		}
+
+		/**
+		 * It splits the node in tasks above the split depth, otherwise it searches the
+		 * subtree.
+		 */
+		protected void compute() {
+			if (i < depth) {
+				worker.split(i);
+			} else {
+				worker.FC(i);
+			}
+		}
+	}
+
+	/**
+	 * This class represents the search state of a task: the domain structure, the trail
+	 * and the assignment of ForwardChecking, and the counters of the task.
+	 */
+	private class Worker {
+
+		/**
+		 * The domain structure: [x][a] is -1 if the value a of x is live, otherwise it is
+		 * the position of the variable which pruned it.
+		 */
+		private final int[][] domain;
+
+		/**
+		 * The current assignment.
+		 */
+		private final int[] assignment;
+
+		/**
+		 * The variables of the trail of pruned values.
+		 */
+		private final int[] trailVariables;
+
+		/**
+		 * The values of the trail of pruned values.
+		 */
+		private final int[] trailValues;
+
+		/**
+		 * The start of the trail entries of each variable in the heuristic ordering.
+		 */
+		private final int[] trailStart;
+
+		/**
+		 * The number of entries of the trail.
+		 */
+		private int trailSize = 0;
+
+		/**
+		 * The number of nodes visited by the task and its children.
+		 */
+		private long nodes = 0;
+
+		/**
+		 * The number of consistency checks of the task and its children.
+		 */
+		private long checks = 0;
+
+		/**
+		 * The number of solutions found by the task and its children.
+		 */
+		private long solutions = 0;
+
+		/**
+		 * The last solution found by the task or its children, or null.
+		 */
+		private int[] last = null;
+
+		/**
+		 * It initializes the state of the root: all values are live.
+		 */
+		Worker() {
+			int numberOfVariables = compiled.getNumberOfVariables();
+			domain = new int[numberOfVariables][];
+			int size = 0;
+			for (int x = 0; x < numberOfVariables; x++) {
+				domain[x] = new int[compiled.getDomainSize(x)];
+				Arrays.fill(domain[x], -1);
+				size = size + domain[x].length;
+			}
+			assignment = new int[numberOfVariables];
+			trailVariables = new int[size];
+			trailValues = new int[size];
+			trailStart = new int[order.length];
+		}
+
+		/**
+		 * It initializes a copy of the state of another task. The trail is empty, since
+		 * the copy never restores the values pruned before it.
+		 * @param worker The state to copy.
+		 */
+		Worker(Worker worker) {
+			domain = new int[worker.domain.length][];
+			for (int x = 0; x < domain.length; x++) {
+				domain[x] = worker.domain[x].clone();
+			}
+			assignment = worker.assignment.clone();
+			trailVariables = new int[worker.trailVariables.length];
+			trailValues = new int[worker.trailValues.length];
+			trailStart = new int[order.length];
+		}
+
+		/**
+		 * It expands the node of the i-th variable: each consistent child is searched by
+		 * a new task. Then it adds the counters of the children.
+		 * @param i The position of the variable to assign.
+		 */
+		void split(int i) {
+			int x = order[i];
+			int[] values_x = values[x];
+			int[] domain_x = domain[x];
+			List<Subtree> children = new ArrayList<Subtree>();
+			for (int l = 0; l < values_x.length && !stop; l++) {
+				int a = values_x[l];
+				assignment[x] = a;
+				if (domain_x[a] == -1) {
+					visitNode();
+					if (i == order.length - 1) {
+						solution();
+					} else {
+						if (checkForward(i)) {
+							children.add(new Subtree(i + 1, new Worker(this)));
+						}
+						restore(i);
+					}
+				}
+			}
+			ForkJoinTask.invokeAll(children);
+			for (Subtree child : children) {
+				add(child.worker);
+			}
+		}
+
+		/**
+		 * It adds the counters and the last solution of another task.
+		 * @param worker The state of the other task.
+		 */
+		void add(Worker worker) {
+			nodes = nodes + worker.nodes;
+			checks = checks + worker.checks;
+			solutions = solutions + worker.solutions;
+			if (worker.last != null)
+				last = worker.last;
+		}
+
+		/**
+		 * It enumerates the subproblems below the node of the i-th variable: each
+		 * consistent assignment of the variables above the split depth is a subproblem.
+		 * The solutions with less variables are found directly.
+		 * @param i The position of the variable to assign.
+		 */
+		void enumerate(int i) {
+			int x = order[i];
+			int[] values_x = values[x];
+			int[] domain_x = domain[x];
+			for (int l = 0; l < values_x.length && !stop; l++) {
+				int a = values_x[l];
+				assignment[x] = a;
+				if (domain_x[a] == -1) {
+					visitNode();
+					if (i == order.length - 1) {
+						solution();
+					} else {
+						if (checkForward(i)) {
+							if (i + 1 == depth) {
+								int[] subproblem = new int[depth];
+								for (int j = 0; j < depth; j++) {
+									subproblem[j] = assignment[order[j]];
+								}
+								subproblems.add(subproblem);
+							} else {
+								enumerate(i + 1);
+							}
+						}
+						restore(i);
+					}
+				}
+			}
+		}
+
+		/**
+		 * It assigns the values of a subproblem to the variables above the split depth,
+		 * checking forward after each one. The checks are not counted. It returns false
+		 * if a domain is wiped out (it never happens for the subproblems enumerated).
+		 * @param subproblem The values of the variables, by heuristic ordering.
+		 * @return True if the subproblem is consistent, false otherwise.
+		 */
+		boolean replay(int[] subproblem) {
+			for (int j = 0; j < subproblem.length; j++) {
+				assignment[order[j]] = subproblem[j];
+				if (!checkForward(j)) {
+					checks = 0;
+					return false;
+				}
+			}
+			checks = 0;
+			return true;
+		}
+
+		/**
+		 * The forward checking algorithm of ForwardChecking on the subtree of the i-th
+		 * variable.
+		 * @param i The position of the variable to assign.
+		 */
+		void FC(int i) {
+			int x = order[i];
+			int[] values_x = values[x];
+			int[] domain_x = domain[x];
+			for (int l = 0; l < values_x.length && !stop; l++) {
+				int a = values_x[l];
+				assignment[x] = a;
+				if (domain_x[a] == -1) {
+					visitNode();
+					if (i == order.length - 1) {
+						solution();
+					} else {
+						if (checkForward(i)) {
+							FC(i + 1);
+						}
+						restore(i);
+					}
+				}
+			}
+		}
+
+		/**
+		 * It counts a node visited. If the search is cancelled, it stops all tasks.
+		 */
+		private void visitNode() {
+			nodes++;
+			if (isCancelled())
+				stop = true;
+		}
+
+		/**
+		 * It records the solution of the current assignment. If the number of solutions
+		 * is limited, the solutions found after the last one requested are discarded.
+		 */
+		private void solution() {
+			if (numberOfSolutions > 0) {
+				int k = found.incrementAndGet();
+				if (k > numberOfSolutions)
+					return;
+				if (k == numberOfSolutions)
+					stop = true;
+			}
+			solutions++;
+			if (isPrintSolution()) {
+				report(assignment);
+			} else {
+				last = assignment.clone();
+			}
+		}
+
+		/**
+		 * It removes from the domain of each future neighbour of the i-th variable the
+		 * values which are not compatible with its assignment. It returns true if no
+		 * domain is wiped out, false otherwise.
+		 * @param i The i-th variable in the heuristic ordering.
+		 * @return True if all constraints are still consitent, false otherwise.
+		 */
+		private boolean checkForward(int i) {
+			trailStart[i] = trailSize;
+			if (lastEmptyDomain > i) {
+				// a variable not still assigned has an empty domain
+				return false;
+			}
+			int a = assignment[order[i]];
+			int[] future_i = future[i];
+			long[][][] supports_i = futureSupports[i];
+			for (int k = 0; k < future_i.length; k++) {
+				int y = order[future_i[k]];
+				long[] supports = supports_i[k][a];
+				int[] domain_y = domain[y];
+				boolean dwo = true;
+				for (int b = 0; b < domain_y.length; b++) {
+					if (domain_y[b] == -1) {
+						checks++;
+						if ((supports[b >>> 6] & (1L << b)) != 0) {
+							dwo = false;
+						} else {
+							// i-th var forbids the assignment y <-- b
+							domain_y[b] = i;
+							trailVariables[trailSize] = y;
+							trailValues[trailSize] = b;
+							trailSize++;
+						}
+					}
+				}
+				if (dwo) {
+					// The current domain of y is empty.
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * It restores the values pruned by the i-th variable.
+		 * @param i The i-th variable in the heuristic ordering.
+		 */
+		private void restore(int i) {
+			int start = trailStart[i];
+			while (trailSize > start) {
+				trailSize--;
+				domain[trailVariables[trailSize]][trailValues[trailSize]] = -1;
+			}
+		}
+	}
+
+	/**
+	 * It returns the name of the mode.
+	 * @return The name of the mode.
+	 */
+	private String modeName() {
+		if (mode == DECOMPOSITION)
+			return "Decomposition";
+		return "Work Stealing";
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Parallel Forward Checking (" + modeName() + ") with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tParallel Forward Checking (" + modeName() + ") with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.2 (17/10/2026): No search for a non positive number of solutions.
+ * 			v.1.1 (17/10/2026): Solution of the winner kept by the portfolio.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import java.util.concurrent.*;
+import heuristic.*;
+import csp.*;
+
+/**
+ * This class represents a parallel portfolio of search algorithms. Each algorithm of the
+ * portfolio searches the same CSP on its own thread, with its own heuristics and search
+ * state. The first algorithm which answers (it finds the solutions requested or it proves
+ * that they don't exist) wins, and the other algorithms are cancelled.
+ * <p>
+ * The default portfolio is forward checking with the 16 combinations of the variable
+ * heuristics (natural, most constrained, random, minimum domain) and of the value
+ * heuristics (natural, minimum, maximum, median). The heuristics are built again when the
+ * CSP changes, so setNextVariableHeuristic() and setNextValueHeuristic() are not used by
+ * the algorithms of the portfolio.
+ * <p>
+ * The algorithms of the portfolio don't write their solutions in the variables of the CSP
+ * (see SearchAlgorithm.setWriteSolution()): the solution of the winner is copied by the
+ * portfolio, and it is written only if the portfolio writes its solutions.
+ * The statistics are the sum of the statistics of all algorithms.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.2
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class PortfolioSearch<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	/**
+	 * The algorithms of the portfolio.
+	 */
+	private List<SearchAlgorithm<T>> algorithms = new ArrayList<SearchAlgorithm<T>>();
+
+	/**
+	 * It is true if the portfolio is the default one, built again for each CSP.
+	 */
+	private boolean defaultPortfolio = false;
+
+	/**
+	 * The executor which runs the algorithms, or null if each search uses a new thread pool.
+	 */
+	private ExecutorService executor = null;
+
+	/**
+	 * The algorithm which won the last search, or null.
+	 */
+	private SearchAlgorithm<T> winner = null;
+
+	/**
+	 * It initializes the default portfolio.
+	 */
+	public PortfolioSearch() {
+		super();
+		defaultPortfolio = true;
+	}
+
+	/**
+	 * It initializes the default portfolio with a csp.
+	 * @param csp A CSP.
+	 */
+	public PortfolioSearch(CSP<T> csp) {
+		super(csp);
+		defaultPortfolio = true;
+		createDefaultPortfolio();
+	}
+
+	/**
+	 * It initializes a portfolio with the algorithms received as parameter, which search
+	 * the same CSP.
+	 * @param algorithms The algorithms of the portfolio.
+	 */
+	public PortfolioSearch(List<SearchAlgorithm<T>> algorithms) {
+		super(algorithms.isEmpty() ? null : algorithms.get(0).getCsp());
+		this.algorithms.addAll(algorithms);
+	}
+
+	/**
+	 * It builds the default portfolio on the current CSP.
+	 */
+	private void createDefaultPortfolio() {
+		algorithms.clear();
+		if(csp == null)
+			return;
+		LinkedList<Variable<T>> variables = csp.getVariables();
+		for (int i = 1; i <= 4; i++) {
+			for (int j = 1; j <= 4; j++) {
+				ForwardChecking<T> algorithm = new ForwardChecking<T>(csp);
+				switch (j) {
+				case 2:
+					algorithm.setNextVariableHeuristic(
+							new MostConstrainedVariableHeuristic<T>(variables, csp.getConstraints()));
+					break;
+				case 3:
+					algorithm.setNextVariableHeuristic(new RandomVariableHeuristic<T>(variables));
+					break;
+				case 4:
+					algorithm.setNextVariableHeuristic(new MinimumDomainVariableHeuristic<T>(variables));
+					break;
+				}
+				switch (i) {
+				case 2:
+					algorithm.setNextValueHeuristic(new MinimumValueHeuristic<T>(variables));
+					break;
+				case 3:
+					algorithm.setNextValueHeuristic(new MaximumValueHeuristic<T>(variables));
+					break;
+				case 4:
+					algorithm.setNextValueHeuristic(new MedianValueHeuristic<T>(variables));
+					break;
+				}
+				algorithms.add(algorithm);
+			}
+		}
+	}
+
+	/**
+	 * It returns the algorithms of the portfolio.
+	 * @return the algorithms.
+	 */
+	public List<SearchAlgorithm<T>> getAlgorithms() {
+		return algorithms;
+	}
+
+	/**
+	 * It returns the algorithm which won the last search, or null.
+	 * @return the winner.
+	 */
+	public SearchAlgorithm<T> getWinner() {
+		return winner;
+	}
+
+	/**
+	 * It returns the executor which runs the algorithms.
+	 * @return the executor, or null.
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * It sets the executor which runs the algorithms. It is not shut down by the portfolio.
+	 * If it is null, each search runs on a new thread pool with a thread for each algorithm.
+	 * @param executor the executor, or null.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setCsp(CSP<T> csp) {
+		super.setCsp(csp);
+		if(defaultPortfolio) {
+			createDefaultPortfolio();
+		} else {
+			for (SearchAlgorithm<T> algorithm : algorithms) {
+				algorithm.setCsp(csp);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setCancelled(boolean cancelled) {
+		super.setCancelled(cancelled);
+		for (SearchAlgorithm<T> algorithm : algorithms) {
+			algorithm.setCancelled(cancelled);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		solve();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		solve();
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		solve();
+	}
+
+	/**
+	 * It runs the algorithms of the portfolio until the first one answers, then it cancels
+	 * the other ones and waits for them.
+	 */
+	private void solve() {
+		reset();
+		winner = null;
+		if(csp == null || algorithms.isEmpty())
+			return;
+		// -1 searches all solutions, the other non positive numbers search nothing
+		if(numberOfSolutions == 0 || numberOfSolutions < -1)
+			return;
+		// the compiled CSP is built once, before the threads start
+		csp.getCompiled();
+		ExecutorService service = executor;
+		if(service == null)
+			service = Executors.newFixedThreadPool(algorithms.size());
+		CompletionService<SearchAlgorithm<T>> completion =
+			new ExecutorCompletionService<SearchAlgorithm<T>>(service);
+		List<Future<SearchAlgorithm<T>>> futures = new ArrayList<Future<SearchAlgorithm<T>>>();
+		try {
+			for (final SearchAlgorithm<T> algorithm : algorithms) {
+				algorithm.setCancelled(false);
+				algorithm.setPrintSolution(false);
+				algorithm.setWriteSolution(false);
+				futures.add(completion.submit(new Callable<SearchAlgorithm<T>>() {
+					public SearchAlgorithm<T> call() {
+						if(numberOfSolutions == 1) {
+							algorithm.search();
+						} else if(numberOfSolutions > 1) {
+							algorithm.search(numberOfSolutions);
+						} else {
+							algorithm.searchAll();
+						}
+						return algorithm;
+					}
+				}));
+			}
+			winner = completion.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A search of the portfolio failed", e.getCause());
+		} finally {
+			// the other algorithms stop at their next node
+			for (SearchAlgorithm<T> algorithm : algorithms) {
+				algorithm.setCancelled(true);
+			}
+			for (Future<SearchAlgorithm<T>> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					// the failure of a cancelled algorithm doesn't change the answer
+				}
+			}
+			if(executor == null)
+				service.shutdown();
+		}
+		for (SearchAlgorithm<T> algorithm : algorithms) {
+			nodesVisited = nodesVisited + algorithm.getNodesVisited();
+			consistencyChecks = consistencyChecks + algorithm.getConsistencyChecks();
+		}
+		if(winner != null) {
+			counterSolutions = winner.getCounterSolutions();
+			if(winner.getLastSolution() != null)
+				setLastSolution(winner.getLastSolution());
+		}
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	String name = "Parallel Portfolio of " + algorithms.size() + " algorithms";
+    	if(winner != null)
+    		name = name + ", won by \n\t" + winner.toString();
+    	return name;
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tParallel Portfolio of " + algorithms.size() + " algorithms");
+    	if(winner != null) {
+    		System.out.println("Won by:");
+    		winner.printAlgorithm();
+    	}
+    }
+
+}
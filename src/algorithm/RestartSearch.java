@@ -0,0 +1,396 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.2 (17/10/2026): Restarts of the algorithms with a static ordering.
+ * 			v.1.1 (17/10/2026): Last solution, writing of the solution and cancellation.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+import heuristic.*;
+import csp.*;
+
+/**
+ * This class represents a restart strategy around another search algorithm. The search
+ * for the first solution is cut off after a number of nodes, and it is started again
+ * with a larger cutoff, until a solution is found or a search ends within its cutoff.
+ * The k-th cutoff is unit * luby(k) with the Luby schedule (1, 1, 2, 1, 1, 2, 4, ...), or
+ * unit * factor^(k-1) with the geometric schedule.
+ * <p>
+ * The algorithm used has a seeded random generator (see SearchAlgorithm.setRandom()), so
+ * each restart breaks the ties of the heuristics in a different way and the whole run is
+ * reproducible. The static orderings permute the variables and the values tied by the
+ * heuristics (see NextVariableHeuristic.isTie() and NextValueHeuristic.isTie()), and
+ * DynamicForwardChecking permutes the variables tied by its dynamic heuristic.
+ * <p>
+ * Restarts are used only by search(): search(numberSolutions) and searchAll() run the
+ * algorithm without a cutoff, since the solutions found before a restart would be found
+ * again.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.2
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class RestartSearch<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	// SCHEDULES
+	/**
+	 * The Luby schedule.
+	 */
+	public static final int LUBY = 1;
+
+	/**
+	 * The geometric schedule.
+	 */
+	public static final int GEOMETRIC = 2;
+
+	/**
+	 * The search algorithm restarted.
+	 */
+	private SearchAlgorithm<T> algorithm = null;
+
+	/**
+	 * The schedule of the cutoffs.
+	 */
+	private int schedule = LUBY;
+
+	/**
+	 * The number of nodes of the unit cutoff.
+	 */
+	private long unit = 100;
+
+	/**
+	 * The factor of the geometric schedule.
+	 */
+	private double factor = 1.5;
+
+	/**
+	 * The seed of the random generator.
+	 */
+	private long seed = 0;
+
+	/**
+	 * The number of restarts of the last search.
+	 */
+	private int restarts = 0;
+
+	/**
+	 * It initializes the restart strategy with the Luby schedule.
+	 * @param algorithm The search algorithm restarted.
+	 */
+	public RestartSearch(SearchAlgorithm<T> algorithm) {
+		this(algorithm, LUBY, 0);
+	}
+
+	/**
+	 * It initializes the restart strategy.
+	 * @param algorithm The search algorithm restarted.
+	 * @param schedule The schedule of the cutoffs (LUBY or GEOMETRIC).
+	 * @param seed The seed of the random generator.
+	 */
+	public RestartSearch(SearchAlgorithm<T> algorithm, int schedule, long seed) {
+		super(algorithm.getCsp());
+		this.algorithm = algorithm;
+		this.schedule = schedule;
+		this.seed = seed;
+	}
+
+	/**
+	 * It returns the search algorithm restarted.
+	 * @return the search algorithm.
+	 */
+	public SearchAlgorithm<T> getSearchAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * It returns the schedule of the cutoffs.
+	 * @return the schedule.
+	 */
+	public int getSchedule() {
+		return schedule;
+	}
+
+	/**
+	 * It sets the schedule of the cutoffs.
+	 * @param schedule the schedule (LUBY or GEOMETRIC).
+	 */
+	public void setSchedule(int schedule) {
+		this.schedule = schedule;
+	}
+
+	/**
+	 * It returns the number of nodes of the unit cutoff.
+	 * @return the unit.
+	 */
+	public long getUnit() {
+		return unit;
+	}
+
+	/**
+	 * It sets the number of nodes of the unit cutoff.
+	 * @param unit the unit to set.
+	 */
+	public void setUnit(long unit) {
+		if(unit > 0)
+			this.unit = unit;
+	}
+
+	/**
+	 * It returns the factor of the geometric schedule.
+	 * @return the factor.
+	 */
+	public double getFactor() {
+		return factor;
+	}
+
+	/**
+	 * It sets the factor of the geometric schedule.
+	 * @param factor the factor to set, greater than 1.
+	 */
+	public void setFactor(double factor) {
+		if(factor > 1)
+			this.factor = factor;
+	}
+
+	/**
+	 * It returns the seed of the random generator.
+	 * @return the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * It sets the seed of the random generator.
+	 * @param seed the seed to set.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * It returns the number of restarts of the last search.
+	 * @return the number of restarts.
+	 */
+	public int getRestarts() {
+		return restarts;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setCsp(CSP<T> csp) {
+		super.setCsp(csp);
+		algorithm.setCsp(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public NextVariableHeuristic<T> getNextVariableHeuristic() {
+		return algorithm.getNextVariableHeuristic();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public NextValueHeuristic<T> getNextValueHeuristic() {
+		return algorithm.getNextValueHeuristic();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setNextVariableHeuristic(NextVariableHeuristic<T> nextVariableHeuristic) {
+		super.setNextVariableHeuristic(nextVariableHeuristic);
+		algorithm.setNextVariableHeuristic(nextVariableHeuristic);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setNextValueHeuristic(NextValueHeuristic<T> nextValueHeuristic) {
+		super.setNextValueHeuristic(nextValueHeuristic);
+		algorithm.setNextValueHeuristic(nextValueHeuristic);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setPrintSolution(boolean printSolution) {
+		super.setPrintSolution(printSolution);
+		algorithm.setPrintSolution(printSolution);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setWriteSolution(boolean writeSolution) {
+		super.setWriteSolution(writeSolution);
+		algorithm.setWriteSolution(writeSolution);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setCancelled(boolean cancelled) {
+		super.setCancelled(cancelled);
+		algorithm.setCancelled(cancelled);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		restarts = 0;
+		if(csp == null)
+			return;
+		algorithm.setRandom(new Random(seed));
+		for (int k = 1; ; k++) {
+			algorithm.setNodeLimit(cutoff(k));
+			algorithm.search();
+			nodesVisited = nodesVisited + algorithm.getNodesVisited();
+			consistencyChecks = consistencyChecks + algorithm.getConsistencyChecks();
+			if (algorithm.getCounterSolutions() > 0 || !algorithm.isNodeLimitReached()) {
+				// a solution is found, or the search is complete
+				break;
+			}
+			restarts++;
+		}
+		counterSolutions = algorithm.getCounterSolutions();
+		lastSolution = algorithm.getLastSolution();
+		algorithm.setNodeLimit(-1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		restarts = 0;
+		if(csp == null)
+			return;
+		algorithm.setNodeLimit(-1);
+		algorithm.search(numberSolutions);
+		collect();
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		restarts = 0;
+		if(csp == null)
+			return;
+		algorithm.setNodeLimit(-1);
+		algorithm.searchAll();
+		collect();
+	}
+
+	/**
+	 * It copies the statistics of the last search of the algorithm.
+	 */
+	private void collect() {
+		nodesVisited = algorithm.getNodesVisited();
+		consistencyChecks = algorithm.getConsistencyChecks();
+		counterSolutions = algorithm.getCounterSolutions();
+		lastSolution = algorithm.getLastSolution();
+	}
+
+	/**
+	 * It returns the cutoff of the k-th run, or -1 if it is too large to be a limit.
+	 * @param k The number of the run, starting from 1.
+	 * @return The maximum number of nodes of the run.
+	 */
+	protected long cutoff(int k) {
+		double cutoff;
+		if (schedule == GEOMETRIC) {
+			cutoff = unit * Math.pow(factor, k - 1);
+		} else {
+			cutoff = (double)unit * luby(k);
+		}
+		return (cutoff >= Long.MAX_VALUE / 2) ? -1 : (long)cutoff;
+	}
+
+	/**
+	 * It returns the i-th term of the Luby sequence: 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...
+	 * @param i The position of the term, starting from 1.
+	 * @return The i-th term.
+	 */
+	public static long luby(long i) {
+		while (true) {
+			// 2^k - 1 is the first position not before i which ends a block
+			int k = 1;
+			while ((1L << k) - 1 < i) {
+				k++;
+			}
+			if (i == (1L << k) - 1) {
+				return 1L << (k - 1);
+			}
+			// the rest of the block repeats the sequence from the beginning
+			i = i - (1L << (k - 1)) + 1;
+		}
+	}
+
+	/**
+	 * It returns the name of the schedule.
+	 * @return The name of the schedule.
+	 */
+	private String scheduleName() {
+		if (schedule == GEOMETRIC)
+			return "Geometric " + factor + ", unit " + unit + " nodes, seed " + seed;
+		return "Luby, unit " + unit + " nodes, seed " + seed;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Restart Search (" + scheduleName() + ") of " + algorithm.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Restart Search (" + scheduleName() + ") of");
+    	algorithm.printAlgorithm();
+    }
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void printStatistics() {
+		super.printStatistics();
+		System.out.println("\tRestarts: " + restarts);
+	}
+
+}
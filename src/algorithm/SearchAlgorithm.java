@@ -19,20 +19,36 @@
  *
  * Created on: 18/06/2007
  * Modifies:
+ * 			v.1.9 (17/10/2026): Copy of the last solution without setting it.
+ * 			v.1.8 (17/10/2026): Ties of the static orderings broken by the random generator.
+ * 			v.1.7 (17/10/2026): Printing of any solution of the algorithm.
+ * 			v.1.6 (17/10/2026): Solutions kept by the algorithm, not written in the variables.
+ * 			v.1.5 (17/10/2026): Last solution kept by the algorithm. Cancellation.
+ * 			v.1.4 (17/10/2026): Node limit and random tie-breaking.
+ * 			v.1.3 (17/10/2026): Count of the consistency checks.
+ * 			v.1.2 (17/10/2026): Search on the compiled snapshot of the CSP.
  * 			v.1.1 (19/06/2007): Class documentation.
  * 			v.1.0 (18/06/2007): Class codify.
  */
 package algorithm;
 
+import java.util.*;
 import heuristic.*;
 import csp.*;
 
 
 /**
  * This class represents a generic search algorithm to find solutions of a CSP.
+ * The search works on the compiled snapshot of the CSP (see CompiledCSP), which is taken
+ * when a search starts: variables and values are integer indices, and the values of 
+ * type T are used only when a solution is set.
+ * The state of the search (assignments, pruned values and solutions) belongs to the 
+ * algorithm, and the CSP is only read, so more algorithms can search the same CSP at the
+ * same time. The last solution is returned by getLastSolution() and getSolution(), and it
+ * is written in the variables of the CSP only if setWriteSolution(true) is called.
  *  
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.9
  * @param <T> the type of objects that this object may be compared to
  */
 public abstract class SearchAlgorithm<T extends Comparable<T>> {
@@ -57,11 +73,63 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
 	 */
 	protected CSP<T> csp = null;
 	
+	/**
+	 * The compiled snapshot of the CSP used by the current search.
+	 */
+	protected CompiledCSP<T> compiled = null;
+	
+	/**
+	 * The adjacency structure of a static ordering of the variables. The entry future[i]
+	 * contains, by increasing order, the positions j > i of the variables which share a 
+	 * constraint with the i-th variable. See initializeFuture().
+	 */
+	protected int[][] future = null;
+	
+	/**
+	 * The supports of the i-th variable on the variables in future[i]. The entry [i][k][a]
+	 * is the bitset of the values of the k-th future neighbour compatible with the a-th 
+	 * value of the i-th variable.
+	 */
+	protected long[][][][] futureSupports = null;
+	
+	/**
+	 * The maximum number of nodes visited by a search, or -1 if there is no limit.
+	 */
+	protected long nodeLimit = -1;
+	
+	/**
+	 * It is true if the last search stopped because it reached the node limit.
+	 */
+	protected boolean nodeLimitReached = false;
+	
+	/**
+	 * The random generator used to break the ties of the heuristics, or null if the ties
+	 * are broken by the static ordering.
+	 */
+	protected Random random = null;
+	
 	/**
 	 * If it is true, solutions are printed during the search, otherwise not.
 	 */
 	private boolean printSolution = true;
 	
+	/**
+	 * If it is true, the last solution is written in the variables of the CSP (see 
+	 * Variable.getSolution()), otherwise it is kept only by the algorithm.
+	 */
+	private boolean writeSolution = false;
+	
+	/**
+	 * The last solution found by the last search, or null. The entry [x] is the index of
+	 * the value assigned to the variable with index x in the compiled CSP.
+	 */
+	protected int[] lastSolution = null;
+	
+	/**
+	 * It is true if the search is cancelled. It can be set by another thread.
+	 */
+	private volatile boolean cancelled = false;
+	
 	/**
 	 * An heuristic used during the search phase. By default, the heuristic is
 	 * NaturalVariableHeuristic, so the original ordering of variables is preserved. (It
@@ -82,6 +150,12 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
 	 */
 	protected long nodesVisited = 0;
 	
+	/**
+	 * The number of consistency checks done during the search phase. A consistency check
+	 * is the test of a pair of values against the constraints between two variables.
+	 */
+	protected long consistencyChecks = 0;
+	
 	/**
 	 * It initializes the algorithm.
 	 */
@@ -161,6 +235,117 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
 		return nodesVisited;
 	}
 	
+	/**
+	 * It returns the number of solutions found by the last search.
+	 * 
+	 * @return the number of solutions found.
+	 */
+	public int getCounterSolutions() {
+		return counterSolutions;
+	}
+	
+	/**
+	 * It returns the maximum number of nodes visited by a search, or -1 if there is no 
+	 * limit.
+	 * 
+	 * @return the node limit.
+	 */
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+	
+	/**
+	 * It sets the maximum number of nodes visited by a search. When the limit is reached,
+	 * the search stops as if it had found the solutions requested.
+	 * 
+	 * @param nodeLimit the node limit, or -1 for no limit.
+	 */
+	public void setNodeLimit(long nodeLimit) {
+		this.nodeLimit = nodeLimit;
+	}
+	
+	/**
+	 * It returns true if the last search stopped because it reached the node limit.
+	 * 
+	 * @return True if the node limit was reached, false otherwise.
+	 */
+	public boolean isNodeLimitReached() {
+		return nodeLimitReached;
+	}
+	
+	/**
+	 * It returns the random generator used to break the ties of the heuristics.
+	 * 
+	 * @return the random generator, or null.
+	 */
+	public Random getRandom() {
+		return random;
+	}
+	
+	/**
+	 * It sets the random generator used to break the ties of the heuristics. A seeded
+	 * generator gives reproducible searches; null breaks the ties by the static ordering.
+	 * 
+	 * @param random the random generator, or null.
+	 */
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+	
+	/**
+	 * It returns the last solution found by the last search, or null. The entry [x] is the
+	 * index of the value assigned to the variable with index x in the compiled CSP.
+	 * 
+	 * @return the last solution.
+	 */
+	public int[] getLastSolution() {
+		return lastSolution;
+	}
+	
+	/**
+	 * It returns the value assigned to a variable by the last solution found by the last 
+	 * search.
+	 * 
+	 * @param var A variable of the CSP.
+	 * @return the value of var, or null if no solution has been found.
+	 */
+	public T getSolution(Variable<T> var) {
+		if(lastSolution == null || compiled == null)
+			return null;
+		int x = var.getIndex();
+		if(x < 0 || x >= lastSolution.length || compiled.getVariable(x) != var)
+			return null;
+		return compiled.getValue(x, lastSolution[x]);
+	}
+	
+	/**
+	 * It returns true if the search is cancelled.
+	 * 
+	 * @return True if the search is cancelled, false otherwise.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * It cancels the search, also from another thread: the search stops at the next node.
+	 * The next searches are cancelled too, until it is called with false.
+	 * 
+	 * @param cancelled True to cancel the search, false otherwise.
+	 */
+	public void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+	
+	/**
+	 * It returns the number of consistency checks done during the search phase.
+	 * 
+	 * @return the number of consistency checks.
+	 */
+	public long getConsistencyChecks() {
+		return consistencyChecks;
+	}
+	
 	/**
 	 * It sets the CSP
 	 * @param csp the csp to set
@@ -202,21 +387,172 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
 	}
 	
 	/**
-	 * It sets the last solution found.
+	 * It sets the last solution found. The entry assignment[x] is the index of the value
+	 * assigned to the variable with index x in the compiled CSP.
+	 * @param assignment The assignment of all variables.
 	 */
-	protected void setLastSolution() {
-		if(csp != null) {
-			Variable<T> var = null;
-			for (int i = 0; i < csp.getVariables().size(); i++) {
-				var = csp.getVariables().get(i);
-				var.setSolution(var.getAssignment());
+	protected void setLastSolution(int[] assignment) {
+		keepLastSolution(assignment);
+		if(csp != null && writeSolution) {
+			for (int x = 0; x < assignment.length; x++) {
+				compiled.getVariable(x).setSolution(compiled.getValue(x, assignment[x]));
+			}
+		}
+		if(csp != null && isPrintSolution()) {
+			printLastSolution();
+		}
+	}
+	
+	/**
+	 * It copies an assignment in the last solution, without writing it in the variables or
+	 * printing it.
+	 * @param assignment The assignment of all variables.
+	 */
+	protected void keepLastSolution(int[] assignment) {
+		if(lastSolution == null || lastSolution.length != assignment.length)
+			lastSolution = new int[assignment.length];
+		System.arraycopy(assignment, 0, lastSolution, 0, assignment.length);
+	}
+	
+	/**
+	 * It counts a node visited. If the node limit is reached or the search is cancelled,
+	 * it stops the search.
+	 */
+	protected void visitNode() {
+		nodesVisited++;
+		if(cancelled)
+			stopSearch = true;
+		if(nodesVisited == nodeLimit) {
+			nodeLimitReached = true;
+			stopSearch = true;
+		}
+	}
+	
+	/**
+	 * It returns the indices of the variables sorted by the variable-heuristic. If a random
+	 * generator is set, the variables tied by the heuristic are in a random order.
+	 * @return The heuristic ordering of the variables.
+	 */
+	protected int[] getVariableOrder() {
+		LinkedList<Variable<T>> variables = nextVariableHeuristic.getVariables();
+		int[] order = new int[variables.size()];
+		boolean[] tied = new boolean[order.length];
+		Variable<T> previous = null;
+		int i = 0;
+		for (Variable<T> var : variables) {
+			order[i] = var.getIndex();
+			if (random != null && previous != null)
+				tied[i] = nextVariableHeuristic.isTie(previous, var);
+			previous = var;
+			i++;
+		}
+		if (random != null)
+			shuffleTies(order, tied);
+		return order;
+	}
+	
+	/**
+	 * It returns the indices of the domain values of each variable sorted by the 
+	 * value-heuristic. The entry [x] contains the value indices of the variable with 
+	 * index x. If a random generator is set, the values tied by the heuristic are in a 
+	 * random order.
+	 * @return The heuristic ordering of the domain values.
+	 */
+	protected int[][] getValueOrder() {
+		int[][] values = new int[compiled.getNumberOfVariables()][];
+		for (int x = 0; x < values.length; x++) {
+			Variable<T> var = compiled.getVariable(x);
+			LinkedList<T> domain = nextValueHeuristic.getDomain(var);
+			boolean[] tied;
+			if(domain == null) {
+				// natural ordering
+				values[x] = new int[compiled.getDomainSize(x)];
+				for (int a = 0; a < values[x].length; a++)
+					values[x][a] = a;
+				tied = new boolean[values[x].length];
+				Arrays.fill(tied, true);
+			} else {
+				values[x] = new int[domain.size()];
+				tied = new boolean[values[x].length];
+				T previous = null;
+				int l = 0;
+				for (T value : domain) {
+					values[x][l] = compiled.getValueIndex(x, value);
+					if (random != null && l > 0)
+						tied[l] = nextValueHeuristic.isTie(var, previous, value);
+					previous = value;
+					l++;
+				}
 			}
-			if(isPrintSolution()) {
-				csp.printLastSolution();
+			if (random != null)
+				shuffleTies(values[x], tied);
+		}
+		return values;
+	}
+	
+	/**
+	 * It permutes at random each run of tied elements of an ordering, with the random
+	 * generator of the algorithm.
+	 * @param order An ordering.
+	 * @param tied The entry [i] is true if the i-th element is tied with the previous one.
+	 */
+	private void shuffleTies(int[] order, boolean[] tied) {
+		int first = 0;
+		for (int i = 1; i <= order.length; i++) {
+			if (i == order.length || !tied[i]) {
+				// the run [first, i-1]
+				for (int j = i - 1; j > first; j--) {
+					int k = first + random.nextInt(j - first + 1);
+					int element = order[j];
+					order[j] = order[k];
+					order[k] = element;
+				}
+				first = i;
 			}
 		}
 	}
 	
+	/**
+	 * It builds future[] and futureSupports[] for a static ordering of the variables.
+	 * @param order The indices of the variables sorted by the ordering.
+	 */
+	protected void initializeFuture(int[] order) {
+		int n = order.length;
+		// position[x] is the position of the variable with index x in the ordering
+		int[] position = new int[compiled.getNumberOfVariables()];
+		Arrays.fill(position, -1);
+		for (int i = 0; i < n; i++) {
+			position[order[i]] = i;
+		}
+		future = new int[n][];
+		futureSupports = new long[n][][][];
+		int[] neighbours = new int[n];
+		long[][][] supports = new long[n][][];
+		for (int i = 0; i < n; i++) {
+			// it collects the neighbours which follow the i-th variable
+			int x = order[i];
+			int[] neighbours_x = compiled.getNeighbours(x);
+			int k = 0;
+			for (int h = 0; h < neighbours_x.length; h++) {
+				int j = position[neighbours_x[h]];
+				if (j > i) {
+					// insertion by increasing position
+					int g = k;
+					while (g > 0 && neighbours[g - 1] > j) {
+						neighbours[g] = neighbours[g - 1];
+						supports[g] = supports[g - 1];
+						g--;
+					}
+					neighbours[g] = j;
+					supports[g] = compiled.getSupports(x, h);
+					k++;
+				}
+			}
+			future[i] = Arrays.copyOf(neighbours, k);
+			futureSupports[i] = Arrays.copyOf(supports, k);
+		}
+	}
+	
 	/**
 	 * It returns true if solutions are printed during the research, false otherwise.
 	 * @return True if solutions are printed during the research, false otherwise.
@@ -225,6 +561,24 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
 		return printSolution;
 	}
 
+	/**
+	 * It returns true if the last solution is written in the variables of the CSP.
+	 * @return True if the last solution is written in the variables, false otherwise.
+	 */
+	public boolean isWriteSolution() {
+		return writeSolution;
+	}
+
+	/**
+	 * It sets if the last solution is written in the variables of the CSP. If it is false 
+	 * (by default), the solution is only returned by getLastSolution() and getSolution(), 
+	 * so more algorithms can search the same CSP at the same time.
+	 * @param writeSolution True if the last solution is written in the variables.
+	 */
+	public void setWriteSolution(boolean writeSolution) {
+		this.writeSolution = writeSolution;
+	}
+
 	/**
 	 * It sets the possibility to print a solution during the search phase or not.
 	 * @param printSolution True if solutions are printed, false otherwise.
@@ -238,8 +592,13 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
 	 */
 	protected void reset() {
 		nodesVisited = 0;
+		consistencyChecks = 0;
 		stopSearch = false;
+		nodeLimitReached = false;
 		counterSolutions = 0;
+		lastSolution = null;
+		if(csp != null)
+			compiled = csp.getCompiled();
 	}
 	
     /**
@@ -263,12 +622,39 @@ public abstract class SearchAlgorithm<T extends Comparable<T>> {
     	nextValueHeuristic.toString());
     }
     
+	/**
+	 * It prints the last solution found by the algorithm, if it exists.
+	 */
+	public void printLastSolution() {
+		printSolution(lastSolution);
+	}
+	
+	/**
+	 * It prints a solution found by the algorithm. The entry solution[x] is the index of 
+	 * the value assigned to the variable with index x in the compiled CSP.
+	 * @param solution A solution, or null.
+	 */
+	public void printSolution(int[] solution) {
+		StringBuilder text = new StringBuilder();
+		if(solution != null) {
+			for (int x = 0; x < solution.length; x++) {
+				if (x > 0)
+					text.append(',');
+				text.append(compiled.getVariable(x).toString()).append('/');
+				text.append(compiled.getValue(x, solution[x]));
+			}
+		}
+		System.out.println("Solution:");
+		System.out.println("\t<" + text + ">");
+	}
+	
 	/**
 	 * It prints the statistics of the search phase.
 	 */
 	public void printStatistics() {
 		System.out.println("Statistics:");
 		System.out.println("\tNodes Visited: " + nodesVisited);
+		System.out.println("\tConsistency Checks: " + consistencyChecks);
 	}
 	
 }
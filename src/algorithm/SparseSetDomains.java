@@ -0,0 +1,247 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.2 (17/10/2026): Domains changed in the current level.
+ * 			v.1.1 (17/10/2026): Access to the removed values.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import java.util.*;
+
+/**
+ * This class represents the current domains of the variables as sparse sets. The domain
+ * of the variable x is stored in two arrays: dense[x] contains the value indices, the
+ * live values first, and sparse[x] contains the position of each value in dense[x].
+ * The first size[x] values of dense[x] are the live ones.
+ * <p>
+ * A value is removed in O(1) by swapping it with the last live value and decrementing
+ * the size. The removed values are never overwritten, so a level of removals is undone
+ * in O(1) for each variable touched by restoring its previous size. The iteration over a
+ * domain visits only its live values.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.2
+ */
+public class SparseSetDomains {
+
+	/**
+	 * The value indices of each domain. The first size[x] entries of dense[x] are the live
+	 * values of x.
+	 */
+	private int[][] dense;
+
+	/**
+	 * The position of each value in dense: dense[x][sparse[x][a]] == a.
+	 */
+	private int[][] sparse;
+
+	/**
+	 * The number of live values of each domain.
+	 */
+	private int[] size;
+
+	/**
+	 * The stamp of the level where each domain was saved for the last time.
+	 */
+	private int[] stamp;
+
+	/**
+	 * The trail of the sizes. An entry k records that the variable trailVariables[k] had
+	 * trailSizes[k] live values before the level which saved it.
+	 */
+	private int[] trailVariables;
+
+	/**
+	 * The sizes saved on the trail.
+	 */
+	private int[] trailSizes;
+
+	/**
+	 * The number of entries of the trail.
+	 */
+	private int trailSize = 0;
+
+	/**
+	 * The start of the trail entries of each level.
+	 */
+	private int[] levelStart;
+
+	/**
+	 * The stamp of each level: stamps are never reused, so the stamps of the domains do not
+	 * need to be restored.
+	 */
+	private int[] levelStamp;
+
+	/**
+	 * The current level.
+	 */
+	private int level = 0;
+
+	/**
+	 * The last stamp given to a level.
+	 */
+	private int lastStamp = 0;
+
+	/**
+	 * It initializes the domains with all their values live.
+	 * @param capacities The domain capacity of each variable.
+	 */
+	public SparseSetDomains(int[] capacities) {
+		int n = capacities.length;
+		dense = new int[n][];
+		sparse = new int[n][];
+		size = new int[n];
+		stamp = new int[n];
+		for (int x = 0; x < n; x++) {
+			dense[x] = new int[capacities[x]];
+			sparse[x] = new int[capacities[x]];
+			for (int a = 0; a < capacities[x]; a++) {
+				dense[x][a] = a;
+				sparse[x][a] = a;
+			}
+			size[x] = capacities[x];
+		}
+		// the trail and the levels grow when they are full
+		trailVariables = new int[n + 1];
+		trailSizes = new int[n + 1];
+		levelStart = new int[n + 1];
+		levelStamp = new int[n + 1];
+	}
+
+	/**
+	 * It returns the number of live values of the variable x.
+	 * @param x The index of the variable.
+	 * @return the size of the domain.
+	 */
+	public int size(int x) {
+		return size[x];
+	}
+
+	/**
+	 * It returns the h-th live value of the variable x, with 0 <= h < size(x). The positions
+	 * from size(x) hold the removed values, the last removed first: if the domain had s
+	 * values, the positions from size(x) to s - 1 hold the values removed since then (if no
+	 * level has been restored).
+	 * @param x The index of the variable.
+	 * @param h The position of the value.
+	 * @return the index of the value.
+	 */
+	public int getValue(int x, int h) {
+		return dense[x][h];
+	}
+
+	/**
+	 * It returns true if the value a of the variable x is live, false otherwise.
+	 * @param x The index of the variable.
+	 * @param a The index of the value.
+	 * @return True if the value is live, false otherwise.
+	 */
+	public boolean contains(int x, int a) {
+		return sparse[x][a] < size[x];
+	}
+
+	/**
+	 * It removes the live value a of the variable x. The value is restored by restore().
+	 * If the value is at the position h, the values at the positions lower than h keep
+	 * their position.
+	 * @param x The index of the variable.
+	 * @param a The index of the value.
+	 */
+	public void remove(int x, int a) {
+		if (stamp[x] != levelStamp[level]) {
+			// the domain is saved once for each level
+			stamp[x] = levelStamp[level];
+			if (trailSize == trailVariables.length) {
+				trailVariables = Arrays.copyOf(trailVariables, trailSize * 2);
+				trailSizes = Arrays.copyOf(trailSizes, trailSize * 2);
+			}
+			trailVariables[trailSize] = x;
+			trailSizes[trailSize] = size[x];
+			trailSize++;
+		}
+		int[] dense_x = dense[x];
+		int[] sparse_x = sparse[x];
+		int last = size[x] - 1;
+		int h = sparse_x[a];
+		int b = dense_x[last];
+		// it swaps a with the last live value
+		dense_x[h] = b;
+		sparse_x[b] = h;
+		dense_x[last] = a;
+		sparse_x[a] = last;
+		size[x] = last;
+	}
+
+	/**
+	 * It opens a new level. The removals done from now on are undone by the next call
+	 * of restore().
+	 */
+	public void save() {
+		level++;
+		lastStamp++;
+		if (level == levelStart.length) {
+			levelStart = Arrays.copyOf(levelStart, level * 2);
+			levelStamp = Arrays.copyOf(levelStamp, level * 2);
+		}
+		levelStart[level] = trailSize;
+		levelStamp[level] = lastStamp;
+	}
+
+	/**
+	 * It undoes the removals of the current level and closes it.
+	 */
+	public void restore() {
+		int start = levelStart[level];
+		while (trailSize > start) {
+			trailSize--;
+			size[trailVariables[trailSize]] = trailSizes[trailSize];
+		}
+		level--;
+	}
+
+	/**
+	 * It returns the number of domains changed in the current level.
+	 * @return the number of domains changed.
+	 */
+	public int getChangedSize() {
+		return trailSize - levelStart[level];
+	}
+
+	/**
+	 * It returns the k-th domain changed in the current level, with
+	 * 0 <= k < getChangedSize().
+	 * @param k The position of the domain.
+	 * @return the index of the variable.
+	 */
+	public int getChanged(int k) {
+		return trailVariables[levelStart[level] + k];
+	}
+
+	/**
+	 * It returns the current level.
+	 * @return the number of levels opened.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+}
@@ -0,0 +1,247 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.2 (17/10/2026): Nodes counted by visitNode().
+ * 			v.1.1 (17/10/2026): Consistency checks.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import csp.*;
+
+/**
+ * This class represents the forward checking search algorithm with sparse-set domains
+ * (see SparseSetDomains). Forward checking visits only the live values of the future
+ * neighbours, and backtracking restores each domain touched in O(1).
+ * It visits the same nodes of ForwardChecking.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.2
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class SparseSetForwardChecking<T extends Comparable<T>> extends SearchAlgorithm<T> {
+
+	/**
+	 * The current domains.
+	 */
+	private SparseSetDomains domains = null;
+
+	/**
+	 * The indices of the variables sorted by the variable-heuristic: the i-th variable of
+	 * the heuristic ordering has the index order[i]. It is built when a search starts.
+	 */
+	private int[] order = null;
+
+	/**
+	 * The indices of the domain values sorted by the value-heuristic. The entry [x]
+	 * contains the value indices of the variable with index x.
+	 */
+	private int[][] values = null;
+
+	/**
+	 * The current assignment. The entry [x] is the index of the value assigned to the
+	 * variable with index x.
+	 */
+	private int[] assignment = null;
+
+	/**
+	 * The last position of a variable with an empty domain, or -1. If a variable following
+	 * the i-th one has an empty domain, forward checking from the i-th variable fails.
+	 */
+	private int lastEmptyDomain = -1;
+
+	/**
+	 * It initializes the sparse-set forward checking algorithm.
+	 */
+	public SparseSetForwardChecking() {
+		super();
+	}
+
+	/**
+	 * It initializes the sparse-set forward checking algorithm with a csp.
+	 * @param csp A CSP.
+	 */
+	public SparseSetForwardChecking(CSP<T> csp) {
+		super(csp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected void reset() {
+		super.reset();
+		if(csp != null)
+			initialize();
+	}
+
+	/**
+	 * It initializes the domains and the heuristic orderings.
+	 */
+	private void initialize() {
+		int numberOfVariables = compiled.getNumberOfVariables();
+		order = getVariableOrder();
+		values = getValueOrder();
+		assignment = new int[numberOfVariables];
+		int[] capacities = new int[numberOfVariables];
+		for (int x = 0; x < numberOfVariables; x++) {
+			capacities[x] = compiled.getDomainSize(x);
+		}
+		domains = new SparseSetDomains(capacities);
+		lastEmptyDomain = -1;
+		for (int i = 0; i < order.length; i++) {
+			if (capacities[order[i]] == 0)
+				lastEmptyDomain = i;
+		}
+		initializeFuture(order);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search() {
+		numberOfSolutions = 1;
+		reset();
+		if(csp != null && order.length > 0)
+			SFC(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void search(int numberSolutions) {
+		numberOfSolutions = numberSolutions;
+		reset();
+		if(csp != null && order.length > 0 && numberOfSolutions > 0)
+			SFC(0);
+	}
+
+	/**
+	 * It searches all solutions.
+	 */
+	public void searchAll() {
+		numberOfSolutions = -1;
+		reset();
+		if(csp != null && order.length > 0)
+			SFC(0);
+	}
+
+	/**
+	 * The forward checking algorithm on sparse-set domains. It assigns the i-th variable
+	 * of the heuristic ordering.
+	 *
+	 * @param i
+	 *            The index of the next variable to assign following the
+	 *            heuristic ordering.
+	 */
+	protected void SFC(int i) {
+		int x = order[i];
+		int[] values_x = values[x];
+		// For each domain value of the variable x
+		for (int l = 0; l < values_x.length && !stopSearch; l++) {
+			int a = values_x[l];
+			assignment[x] = a;
+			// The assignment x <-- a is ammissible.
+			if (domains.contains(x, a)) {
+				// It counts the number of nodes visited
+				visitNode();
+				if (i == order.length - 1) {
+					// All variable are assigned.
+					setLastSolution(assignment);
+					counterSolutions++;
+					if(counterSolutions == numberOfSolutions) {
+						// it stops the search
+						stopSearch = true;
+					}
+				} else {
+					domains.save();
+					if (checkForward(i)) {
+						// Recursive call. It expands the (i+1)-th variable
+						SFC(i + 1);
+					}
+					// It restore the previous state.
+					domains.restore();
+				}
+			}
+		}
+	}
+
+	/**
+	 * It removes from the domain of each future neighbour of the i-th variable the live
+	 * values which are not compatible with its assignment. It returns true if no domain
+	 * is wiped out, false otherwise.
+	 *
+	 * @param i The i-th variable in the heuristic ordering.
+	 * @return True if all constraints are still consitent, false otherwise.
+	 */
+	protected boolean checkForward(int i) {
+		if (lastEmptyDomain > i) {
+			// a variable not still assigned has an empty domain
+			return false;
+		}
+		int a = assignment[order[i]];
+		int[] future_i = future[i];
+		long[][][] supports_i = futureSupports[i];
+		// for each neighbour y which is not still assigned
+		for (int k = 0; k < future_i.length; k++) {
+			int y = order[future_i[k]];
+			long[] supports = supports_i[k][a];
+			// each live value is checked
+			consistencyChecks = consistencyChecks + domains.size(y);
+			// the live values are visited backward, so a removal doesn't move the values
+			// still to visit
+			for (int h = domains.size(y) - 1; h >= 0; h--) {
+				int b = domains.getValue(y, h);
+				if ((supports[b >>> 6] & (1L << b)) == 0) {
+					// i-th var forbids the assignment y <-- b
+					domains.remove(y, b);
+				}
+			}
+			if (domains.size(y) == 0) {
+				// The current domain of y is empty.
+				return false;
+			}
+		}
+		return true;
+	}
+
+    // PRINT METHODS
+    /**
+     * It returns the name of the algorithm.
+     * @return The name of the algorithm.
+     */
+    public String toString() {
+    	return "Sparse-Set Forward Checking with \n\t" +
+    	nextVariableHeuristic.toString() + "\n\t" +
+    	nextValueHeuristic.toString();
+    }
+
+    // PRINT METHODS
+    /**
+     * It prints the name of the algorithm.
+     */
+    public void printAlgorithm() {
+    	System.out.println("Search Algorithm:");
+    	System.out.println("\tSparse-Set Forward Checking with \n\t - " +
+    	nextVariableHeuristic.toString() + "\n\t - " +
+    	nextValueHeuristic.toString());
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package algorithm;
+
+import heuristic.*;
+
+/**
+ * This class represents the variables not still assigned as a binary heap, sorted by a
+ * dynamic variable heuristic on the current domain sizes. The first variable is read in
+ * O(1), and a variable whose domain size changes is moved to its place in O(log N) by
+ * update(), so the search does not scan all variables at each node.
+ * <p>
+ * update() expects that only the comparisons of one variable have changed. If a change
+ * involves more variables at once, they must be removed before it and inserted again
+ * after it.
+ * <p>
+ * The equivalent variables are sorted by their position in a static ordering.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class VariableHeap {
+
+	/**
+	 * The heap of the indices of the variables.
+	 */
+	private int[] heap;
+
+	/**
+	 * The position of each variable in the heap, or -1 if it is not in the heap.
+	 */
+	private int[] position;
+
+	/**
+	 * The number of variables in the heap.
+	 */
+	private int size = 0;
+
+	/**
+	 * The position of each variable in the static ordering.
+	 */
+	private int[] rank;
+
+	/**
+	 * The heuristic which compares the variables.
+	 */
+	private DynamicVariableHeuristic heuristic;
+
+	/**
+	 * The current domains.
+	 */
+	private SparseSetDomains domains;
+
+	/**
+	 * It initializes the heap with all the variables of a static ordering.
+	 * @param heuristic The dynamic variable heuristic.
+	 * @param domains The current domains.
+	 * @param order The indices of the variables in the static ordering.
+	 */
+	public VariableHeap(DynamicVariableHeuristic heuristic, SparseSetDomains domains, int[] order) {
+		this.heuristic = heuristic;
+		this.domains = domains;
+		int n = order.length;
+		heap = new int[n];
+		position = new int[n];
+		rank = new int[n];
+		for (int i = 0; i < n; i++) {
+			heap[i] = order[i];
+			position[order[i]] = i;
+			rank[order[i]] = i;
+		}
+		size = n;
+		for (int p = size / 2 - 1; p >= 0; p--) {
+			siftDown(p);
+		}
+	}
+
+	/**
+	 * It returns the number of variables in the heap.
+	 * @return the number of variables.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * It returns true if the variable x is in the heap, false otherwise.
+	 * @param x The index of the variable.
+	 * @return True if x is in the heap, false otherwise.
+	 */
+	public boolean contains(int x) {
+		return position[x] >= 0;
+	}
+
+	/**
+	 * It removes the first variable of the heap.
+	 * @return The index of the variable.
+	 */
+	public int removeFirst() {
+		int x = heap[0];
+		size--;
+		position[x] = -1;
+		if (size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return x;
+	}
+
+	/**
+	 * It inserts the variable x, not in the heap.
+	 * @param x The index of the variable.
+	 */
+	public void insert(int x) {
+		heap[size] = x;
+		position[x] = size;
+		size++;
+		siftUp(size - 1);
+	}
+
+	/**
+	 * It removes the variable x. If x is not in the heap, it does nothing.
+	 * @param x The index of the variable.
+	 */
+	public void remove(int x) {
+		int p = position[x];
+		if (p < 0)
+			return;
+		size--;
+		position[x] = -1;
+		if (p < size) {
+			// the last variable takes the place of x
+			int y = heap[size];
+			heap[p] = y;
+			position[y] = p;
+			siftUp(p);
+			siftDown(position[y]);
+		}
+	}
+
+	/**
+	 * It moves the variable x to its place, after a change of its domain or of the
+	 * heuristic. If x is not in the heap, it does nothing.
+	 * @param x The index of the variable.
+	 */
+	public void update(int x) {
+		int p = position[x];
+		if (p >= 0) {
+			siftUp(p);
+			siftDown(position[x]);
+		}
+	}
+
+	/**
+	 * It returns true if the variable x precedes the variable y.
+	 * @param x The index of the first variable.
+	 * @param y The index of the second variable.
+	 * @return True if x precedes y, false otherwise.
+	 */
+	private boolean precedes(int x, int y) {
+		int c = heuristic.compare(x, domains.size(x), y, domains.size(y));
+		return (c != 0) ? c < 0 : rank[x] < rank[y];
+	}
+
+	/**
+	 * It moves up the variable at the position p.
+	 * @param p The position in the heap.
+	 */
+	private void siftUp(int p) {
+		int x = heap[p];
+		while (p > 0) {
+			int parent = (p - 1) >>> 1;
+			int y = heap[parent];
+			if (!precedes(x, y))
+				break;
+			heap[p] = y;
+			position[y] = p;
+			p = parent;
+		}
+		heap[p] = x;
+		position[x] = p;
+	}
+
+	/**
+	 * It moves down the variable at the position p.
+	 * @param p The position in the heap.
+	 */
+	private void siftDown(int p) {
+		int x = heap[p];
+		while (true) {
+			int child = 2 * p + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && precedes(heap[child + 1], heap[child]))
+				child++;
+			int y = heap[child];
+			if (!precedes(y, x))
+				break;
+			heap[p] = y;
+			position[y] = p;
+			p = child;
+		}
+		heap[p] = x;
+		position[x] = p;
+	}
+
+}
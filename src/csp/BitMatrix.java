@@ -0,0 +1,176 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 16/10/2026
+ * Modifies:
+ * 			v.1.0 (16/10/2026): Documentation and codify of the class.
+ */
+package csp;
+
+/**
+ * This class represents a binary relation between the value indices of two variables.
+ * The relation is stored as a dense bit matrix: the bit [r,c] is set if the pair of
+ * value indices (r,c) is allowed. A transposed copy of the matrix is kept, so the
+ * allowed pairs can be read by rows or by columns at the same cost.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class BitMatrix {
+
+	/**
+	 * The number of rows (the domain capacity of the first variable).
+	 */
+	private int rows = 0;
+
+	/**
+	 * The number of columns (the domain capacity of the second variable).
+	 */
+	private int columns = 0;
+
+	/**
+	 * The matrix. The entry matrix[r] is the set of columns c such that [r,c] is set,
+	 * stored as a bitset of 64 bits words.
+	 */
+	private long[][] matrix;
+
+	/**
+	 * The transposed matrix. The entry transposed[c] is the set of rows r such that
+	 * [r,c] is set, stored as a bitset of 64 bits words.
+	 */
+	private long[][] transposed;
+
+	/**
+	 * It constructs a bit matrix with all entries setted to value.
+	 * @param rows The number of rows.
+	 * @param columns The number of columns.
+	 * @param value The initial value of the entries.
+	 */
+	public BitMatrix(int rows, int columns, boolean value) {
+		this.rows = rows;
+		this.columns = columns;
+		matrix = new long[rows][words(columns)];
+		transposed = new long[columns][words(rows)];
+		if(value) {
+			for(int r = 0; r < rows; r++) {
+				fill(matrix[r], columns);
+			}
+			for(int c = 0; c < columns; c++) {
+				fill(transposed[c], rows);
+			}
+		}
+	}
+
+	/**
+	 * It returns the number of 64 bits words necessary to store size bits.
+	 * @param size The number of bits.
+	 * @return The number of words.
+	 */
+	public static int words(int size) {
+		return (size + 63) >>> 6;
+	}
+
+	/**
+	 * It sets the first size bits of the bitset.
+	 * @param bitset A bitset.
+	 * @param size The number of bits to set.
+	 */
+	private static void fill(long[] bitset, int size) {
+		for(int w = 0; w < bitset.length; w++) {
+			bitset[w] = -1L;
+		}
+		if((size & 63) != 0) {
+			bitset[bitset.length - 1] = -1L >>> (64 - (size & 63));
+		}
+	}
+
+	/**
+	 * It returns true if the entry [row,column] is set, false otherwise.
+	 * @param row The row index.
+	 * @param column The column index.
+	 * @return True if the entry [row,column] is set, false otherwise.
+	 */
+	public boolean get(int row, int column) {
+		return (matrix[row][column >>> 6] & (1L << column)) != 0;
+	}
+
+	/**
+	 * It returns true if the entry [row,column] is set, false otherwise. It reads the
+	 * transposed matrix, so it is the natural access from the second variable.
+	 * @param column The column index.
+	 * @param row The row index.
+	 * @return True if the entry [row,column] is set, false otherwise.
+	 */
+	public boolean getTransposed(int column, int row) {
+		return (transposed[column][row >>> 6] & (1L << row)) != 0;
+	}
+
+	/**
+	 * It sets the entry [row,column] to value, in the matrix and in its transposed copy.
+	 * @param row The row index.
+	 * @param column The column index.
+	 * @param value The value to set.
+	 */
+	public void set(int row, int column, boolean value) {
+		if(value) {
+			matrix[row][column >>> 6] |= 1L << column;
+			transposed[column][row >>> 6] |= 1L << row;
+		} else {
+			matrix[row][column >>> 6] &= ~(1L << column);
+			transposed[column][row >>> 6] &= ~(1L << row);
+		}
+	}
+
+	/**
+	 * It returns the row of the matrix as a bitset over the columns.
+	 * The returned array must not be modified.
+	 * @param row The row index.
+	 * @return The bitset of the columns set in the row.
+	 */
+	public long[] getRow(int row) {
+		return matrix[row];
+	}
+
+	/**
+	 * It returns the column of the matrix as a bitset over the rows.
+	 * The returned array must not be modified.
+	 * @param column The column index.
+	 * @return The bitset of the rows set in the column.
+	 */
+	public long[] getColumn(int column) {
+		return transposed[column];
+	}
+
+	/**
+	 * It returns the number of rows.
+	 * @return the number of rows.
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * It returns the number of columns.
+	 * @return the number of columns.
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+}
@@ -19,6 +19,15 @@
  *
  * Created on: 16/06/2007
  * Modifies:
+ * 			v.1.10 (17/10/2026): Lookups of the index in constant time.
+ * 			v.1.9 (17/10/2026): Changes of the problem counted by versions of its own elements.
+ * 			v.1.8 (17/10/2026): printLastSolution() deprecated.
+ * 			v.1.7 (17/10/2026): Index and compiled snapshot checked against the changes of the problem.
+ * 			v.1.6 (17/10/2026): Solution printed in linear time.
+ * 			v.1.5 (17/10/2026): Index and compiled snapshot built under the lock of the problem.
+ * 			v.1.4 (17/10/2026): Compiled snapshot of the problem for the search algorithms.
+ * 			v.1.3 (17/10/2026): Dense indices of variables.
+ * 			v.1.2 (17/10/2026): Index of the relations between pairs of variables.
  * 			v.1.1 (18/06/2007): Simplified the structure of the class.
  * 			v.1.0 (16/06/2007): Documentation and codify of the class.
  */
@@ -28,9 +37,20 @@ import java.util.*;
 
 /**
  * This class represents a constraint satisfaction problem.
+ * It maintains an index from each pair of variables to the relation which merges the
+ * constraints between them, so the search can find it in constant time. The index sees
+ * at once the elements added or removed, and an element replaced in a list at the next
+ * compilation (see getCompiled()). Moreover, it assigns to the i-th variable of the list
+ * the dense index i (see Variable.getIndex()).
+ * The search algorithms work on a compiled snapshot of the problem (see CompiledCSP),
+ * which is cached until the problem changes: a variable or a constraint is added, removed
+ * or replaced in the lists, or the version of one of them changes (a domain is changed by
+ * the methods of Variable, or a pair of values is disallowed by a GeneratedConstraint).
+ * The index and the snapshot are built under the lock of the problem, and the snapshot is
+ * immutable, so more search algorithms can search the same CSP at the same time.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.10
  * @param <T> the type of objects that this object may be compared to
  */
 public class CSP<T extends Comparable<T>> {
@@ -46,6 +66,43 @@ public class CSP<T extends Comparable<T>> {
 	 */
 	private LinkedList<Constraint<T>> constraints;
 
+	// INDEX
+	/**
+	 * The index of relations. The entry [var_i][var_j] is the relation between var_i and
+	 * var_j, with var_i as first variable. It is null until it is built.
+	 */
+	private HashMap<Variable<T>, LinkedHashMap<Variable<T>, Relation<T>>> relations = null;
+	
+	/**
+	 * The constraints of the list already added to the index, in the order of the list.
+	 */
+	private ArrayList<Constraint<T>> indexedConstraints = new ArrayList<Constraint<T>>();
+	
+	/**
+	 * The variables of the list which have received their index, in the order of the list.
+	 */
+	private ArrayList<Variable<T>> indexedVariables = new ArrayList<Variable<T>>();
+	
+	/**
+	 * The number of variables and constraints added by the methods of the problem.
+	 */
+	private int modifications = 0;
+	
+	/**
+	 * The value of modifications when the index was checked against the lists.
+	 */
+	private int indexedModifications = -1;
+	
+	/**
+	 * The compiled snapshot of the problem, or null if it must be built.
+	 */
+	private CompiledCSP<T> compiled = null;
+	
+	/**
+	 * The version of the problem when the compiled snapshot was built.
+	 */
+	private long compiledVersion = 0;
+
 	/**
 	 * It initializes the CSP with a set of variables and a set of constraints
 	 * defined on these variables.
@@ -59,6 +116,7 @@ public class CSP<T extends Comparable<T>> {
 			LinkedList<Constraint<T>> constraints) {
 		this.variables = variables;
 		this.constraints = constraints;
+		updateIndex();
 	}
 	
 	/**
@@ -78,6 +136,254 @@ public class CSP<T extends Comparable<T>> {
 	public LinkedList<Constraint<T>> getConstraints() {
 		return constraints;
 	}
+	
+	/**
+	 * It returns the number of variables. The variables added to the list since the last
+	 * call receive their index.
+	 * 
+	 * @return The number of variables.
+	 */
+	public synchronized int getNumberOfVariables() {
+		updateIndex();
+		return indexedVariables.size();
+	}
+	
+	/**
+	 * It adds a variable to the problem. The variable receives the next index.
+	 * 
+	 * @param variable
+	 *            A variable.
+	 */
+	public synchronized void addVariable(Variable<T> variable) {
+		if(variables == null)
+			variables = new LinkedList<Variable<T>>();
+		variables.add(variable);
+		modifications++;
+		updateIndex();
+	}
+	
+	/**
+	 * It adds a constraint to the problem.
+	 * 
+	 * @param constraint
+	 *            A constraint defined on variables of the problem.
+	 */
+	public synchronized void addConstraint(Constraint<T> constraint) {
+		if(constraints == null)
+			constraints = new LinkedList<Constraint<T>>();
+		constraints.add(constraint);
+		modifications++;
+	}
+	
+	/**
+	 * It returns the relation between var_i and var_j, which merges all the constraints
+	 * defined between them. The values of the relation are ordered as (var_i, var_j).
+	 * 
+	 * @param var_i
+	 *            The first variable.
+	 * @param var_j
+	 *            The second variable.
+	 * @return The relation, or null if no constraint is defined between var_i and var_j.
+	 */
+	public synchronized Relation<T> getRelation(Variable<T> var_i, Variable<T> var_j) {
+		updateIndex();
+		return findRelation(var_i, var_j);
+	}
+	
+	/**
+	 * It returns the relation between var_i and var_j from the index, without updating it.
+	 * 
+	 * @param var_i
+	 *            The first variable.
+	 * @param var_j
+	 *            The second variable.
+	 * @return The relation, or null if no constraint is defined between var_i and var_j.
+	 */
+	synchronized Relation<T> findRelation(Variable<T> var_i, Variable<T> var_j) {
+		LinkedHashMap<Variable<T>, Relation<T>> relations_i = relations.get(var_i);
+		if(relations_i == null)
+			return null;
+		return relations_i.get(var_j);
+	}
+	
+	/**
+	 * It returns the relations between var and its neighbours in the constraint graph,
+	 * with var as first variable of each relation.
+	 * 
+	 * @param var
+	 *            A variable.
+	 * @return The relations of var, in the order the constraints were added.
+	 */
+	public synchronized Collection<Relation<T>> getRelations(Variable<T> var) {
+		updateIndex();
+		return findRelations(var);
+	}
+	
+	/**
+	 * It returns the relations of var from the index, without updating it.
+	 * 
+	 * @param var
+	 *            A variable.
+	 * @return The relations of var, in the order the constraints were added.
+	 */
+	synchronized Collection<Relation<T>> findRelations(Variable<T> var) {
+		LinkedHashMap<Variable<T>, Relation<T>> relations_var = relations.get(var);
+		if(relations_var == null)
+			return Collections.emptyList();
+		return Collections.unmodifiableCollection(relations_var.values());
+	}
+	
+	/**
+	 * It returns the compiled snapshot of the problem. The snapshot is built again only if
+	 * the problem has changed since the last compilation.
+	 * 
+	 * @return The compiled problem.
+	 */
+	public synchronized CompiledCSP<T> getCompiled() {
+		checkIndex();
+		if(compiled == null || compiledVersion != getVersion())
+			compile();
+		return compiled;
+	}
+	
+	/**
+	 * It compiles the problem again. It must be called if a domain has been modified
+	 * through the list returned by Variable.getDomain(), or if a constraint other than a 
+	 * GeneratedConstraint has been modified.
+	 * 
+	 * @return The compiled problem.
+	 */
+	public synchronized CompiledCSP<T> compile() {
+		checkIndex();
+		// the changes done while the problem is compiled build it again at the next call
+		compiledVersion = getVersion();
+		compiled = new CompiledCSP<T>(this);
+		return compiled;
+	}
+	
+	/**
+	 * It returns the version of the indexed problem, which is the sum of the versions of 
+	 * its variables and constraints. The versions never decrease, so the sum changes when
+	 * one of them changes.
+	 * @return The version of the problem.
+	 */
+	private long getVersion() {
+		long version = 0;
+		for (int i = 0; i < indexedVariables.size(); i++) {
+			version = version + indexedVariables.get(i).getVersion();
+		}
+		for (int i = 0; i < indexedConstraints.size(); i++) {
+			version = version + indexedConstraints.get(i).getVersion();
+		}
+		return version;
+	}
+	
+	/**
+	 * It updates the indices of variables and the index of relations if elements have been
+	 * added or removed since the last update. The check takes constant time: an element
+	 * replaced in a list without changing its size is seen only by checkIndex().
+	 */
+	private void updateIndex() {
+		int numberOfVariables = (variables == null) ? 0 : variables.size();
+		int numberOfConstraints = (constraints == null) ? 0 : constraints.size();
+		if(relations != null && indexedModifications == modifications
+				&& indexedVariables.size() == numberOfVariables
+				&& indexedConstraints.size() == numberOfConstraints)
+			return;
+		checkIndex();
+	}
+	
+	/**
+	 * It checks the indices of variables and the index of relations against the lists. The
+	 * variables and the constraints added to the lists since the last update are indexed. 
+	 * If an indexed element has been removed or replaced, the index is rebuilt from that 
+	 * element for the variables, and from scratch for the relations. It walks both lists,
+	 * so it is called once for each compilation.
+	 */
+	private void checkIndex() {
+		indexedModifications = modifications;
+		int k = indexedPrefix(variables, indexedVariables);
+		int numberOfVariables = (variables == null) ? 0 : variables.size();
+		if(k < indexedVariables.size() || k < numberOfVariables) {
+			compiled = null;
+			indexedVariables.subList(k, indexedVariables.size()).clear();
+			if(variables != null) {
+				ListIterator<Variable<T>> it = variables.listIterator(k);
+				while(it.hasNext()) {
+					Variable<T> var = it.next();
+					var.setIndex(indexedVariables.size());
+					indexedVariables.add(var);
+				}
+			}
+		}
+		k = indexedPrefix(constraints, indexedConstraints);
+		int size = (constraints == null) ? 0 : constraints.size();
+		if(relations != null && k == indexedConstraints.size() && k == size)
+			return;
+		compiled = null;
+		if(relations == null || k < indexedConstraints.size()) {
+			relations = new HashMap<Variable<T>, LinkedHashMap<Variable<T>, Relation<T>>>();
+			indexedConstraints.clear();
+		}
+		if(indexedConstraints.size() < size) {
+			ListIterator<Constraint<T>> it = constraints.listIterator(indexedConstraints.size());
+			while(it.hasNext()) {
+				Constraint<T> constraint = it.next();
+				index(constraint);
+				indexedConstraints.add(constraint);
+			}
+		}
+	}
+	
+	/**
+	 * It returns the number of the first elements of list which are the same objects as the
+	 * indexed elements, in the same order.
+	 * @param list A list of the problem, or null.
+	 * @param indexed The indexed elements of the list.
+	 * @return The number of elements still indexed.
+	 */
+	private static <E> int indexedPrefix(LinkedList<E> list, ArrayList<E> indexed) {
+		if(list == null)
+			return 0;
+		int k = 0;
+		Iterator<E> it = list.iterator();
+		while(k < indexed.size() && it.hasNext() && it.next() == indexed.get(k)) {
+			k++;
+		}
+		return k;
+	}
+	
+	/**
+	 * It adds a constraint to the relations of its two variables.
+	 * @param constraint A constraint.
+	 */
+	private void index(Constraint<T> constraint) {
+		Variable<T> var1 = constraint.getFirstVariable();
+		Variable<T> var2 = constraint.getSecondVariable();
+		relation(var1, var2).add(constraint);
+		if(var1 != var2)
+			relation(var2, var1).add(constraint);
+	}
+	
+	/**
+	 * It returns the relation between var_i and var_j. If it doesn't exist, it is created.
+	 * @param var_i The first variable.
+	 * @param var_j The second variable.
+	 * @return The relation between var_i and var_j.
+	 */
+	private Relation<T> relation(Variable<T> var_i, Variable<T> var_j) {
+		LinkedHashMap<Variable<T>, Relation<T>> relations_i = relations.get(var_i);
+		if(relations_i == null) {
+			relations_i = new LinkedHashMap<Variable<T>, Relation<T>>();
+			relations.put(var_i, relations_i);
+		}
+		Relation<T> relation = relations_i.get(var_j);
+		if(relation == null) {
+			relation = new Relation<T>(var_i, var_j);
+			relations_i.put(var_j, relation);
+		}
+		return relation;
+	}
 
 	/**
 	 * It prints the problem data and the heuristic name to improve the search
@@ -103,16 +409,21 @@ public class CSP<T extends Comparable<T>> {
 	}
 
 	/**
-	 * It prints the last found solution of the problem if it exists.
+	 * It prints the last found solution of the problem if it exists. It shows only the
+	 * solutions written in the variables by a search algorithm with setWriteSolution(true).
+	 * @deprecated The search algorithms don't write their solutions by default: use
+	 * SearchAlgorithm.printLastSolution().
 	 */
+	@Deprecated
 	public void printLastSolution() {
-		String solution = new String();
+		StringBuilder solution = new StringBuilder();
 		if(variables != null) {
-			for (int i = 0; i < variables.size(); i++) {
-				Variable<T> var = variables.get(i);
-				solution = solution + var.toString() + "/" + var.toStringSolution();
-				if (i + 1 < variables.size()) {
-					solution = solution + ",";
+			Iterator<Variable<T>> it = variables.iterator();
+			while (it.hasNext()) {
+				Variable<T> var = it.next();
+				solution.append(var.toString()).append('/').append(var.toStringSolution());
+				if (it.hasNext()) {
+					solution.append(',');
 				}
 			}
 		}
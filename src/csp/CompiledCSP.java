@@ -0,0 +1,447 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.3 (17/10/2026): Array of the variables built without raw types.
+ * 			v.1.2 (17/10/2026): Relations read from the index checked once by the problem.
+ * 			v.1.1 (17/10/2026): Domains coded by a value dictionary.
+ * 			v.1.0 (17/10/2026): Documentation and codify of the class.
+ */
+package csp;
+
+import java.util.*;
+
+/**
+ * This class represents an immutable compiled snapshot of a CSP, used by the search
+ * algorithms. Variables are identified by their index in the CSP and domain values by
+ * their index in the domain of the variable, so the search works only on integers and
+ * arrays. The values of type T are used again only when a solution is reported.
+ * Moreover, each domain value has the code given by a dictionary of all the values of 
+ * the CSP (see ValueDictionary): equal values have the same code in every domain.
+ * <p>
+ * The snapshot contains:
+ * <ul>
+ * <li>the variables and their domains, as arrays of codes;</li>
+ * <li>the constraint graph, as adjacency lists sorted by index of the neighbours;</li>
+ * <li>an edge for each pair of variables constrained, whose relation merges all the
+ * constraints between them in a bit matrix (the first variable of the edge is the
+ * one with the lower index).</li>
+ * </ul>
+ * The arrays returned by the methods of this class must not be modified.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.3
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class CompiledCSP<T extends Comparable<T>> {
+
+	/**
+	 * The variables. The entry [x] is the variable with index x.
+	 */
+	private final Variable<T>[] variables;
+
+	/**
+	 * The dictionary of the domain values.
+	 */
+	private final ValueDictionary<T> dictionary;
+
+	/**
+	 * The domains. The entry [x][a] is the code of the a-th domain value of the variable x.
+	 */
+	private final int[][] codes;
+
+	/**
+	 * The codes of each domain, by increasing order.
+	 */
+	private final int[][] sortedCodes;
+
+	/**
+	 * The value indices of sortedCodes: sortedCodes[x][h] is the code of the value with 
+	 * index sortedIndices[x][h].
+	 */
+	private final int[][] sortedIndices;
+
+	/**
+	 * The adjacency lists. The entry [x] contains the indices of the variables which
+	 * share a constraint with x, by increasing order.
+	 */
+	private final int[][] neighbours;
+
+	/**
+	 * The edges of the adjacency lists. The entry [x][k] is the edge between x and
+	 * neighbours[x][k].
+	 */
+	private final int[][] edges;
+
+	/**
+	 * The supports of the adjacency lists. The entry [x][k][a] is the bitset of the
+	 * values of neighbours[x][k] which are compatible with the a-th value of x.
+	 */
+	private final long[][][][] supports;
+
+	/**
+	 * The first variable of each edge.
+	 */
+	private final int[] edgeFirst;
+
+	/**
+	 * The second variable of each edge.
+	 */
+	private final int[] edgeSecond;
+
+	/**
+	 * The relation of each edge, between the values of the first variable (rows) and the
+	 * values of the second variable (columns).
+	 */
+	private final BitMatrix[] relations;
+
+	/**
+	 * It compiles a CSP. The domains and the constraints are read at this time, so the
+	 * snapshot doesn't change if the CSP is modified later.
+	 * @param csp A CSP.
+	 */
+	public CompiledCSP(CSP<T> csp) {
+		// the index of the problem is updated once, then it is only read
+		int n = csp.getNumberOfVariables();
+		variables = newVariables(n);
+		dictionary = new ValueDictionary<T>(csp.getVariables());
+		codes = new int[n][];
+		sortedCodes = new int[n][];
+		sortedIndices = new int[n][];
+		for (Variable<T> var : csp.getVariables()) {
+			int x = var.getIndex();
+			variables[x] = var;
+			LinkedList<T> domain = var.getDomain();
+			codes[x] = new int[(domain == null) ? 0 : domain.size()];
+			// each code is shifted left and holds its value index in the low bits
+			long[] sorted = new long[codes[x].length];
+			int a = 0;
+			if (domain != null) {
+				for (T value : domain) {
+					codes[x][a] = dictionary.encode(value);
+					sorted[a] = ((long) codes[x][a] << 32) | a;
+					a++;
+				}
+			}
+			Arrays.sort(sorted);
+			sortedCodes[x] = new int[sorted.length];
+			sortedIndices[x] = new int[sorted.length];
+			for (int h = 0; h < sorted.length; h++) {
+				sortedCodes[x][h] = (int) (sorted[h] >>> 32);
+				sortedIndices[x][h] = (int) sorted[h];
+			}
+		}
+
+		// adjacency lists
+		neighbours = new int[n][];
+		for (int x = 0; x < n; x++) {
+			int k = 0;
+			int[] neighbours_x = new int[csp.findRelations(variables[x]).size()];
+			for (Relation<T> relation : csp.findRelations(variables[x])) {
+				int y = relation.getSecondVariable().getIndex();
+				// self constraints and variables out of the CSP are not edges
+				if (y != x && y >= 0 && y < n && variables[y] == relation.getSecondVariable()) {
+					neighbours_x[k] = y;
+					k++;
+				}
+			}
+			neighbours[x] = Arrays.copyOf(neighbours_x, k);
+			Arrays.sort(neighbours[x]);
+		}
+
+		// edges, from the lower index to the greater one
+		int numberOfEdges = 0;
+		for (int x = 0; x < n; x++) {
+			for (int k = 0; k < neighbours[x].length; k++) {
+				if (neighbours[x][k] > x)
+					numberOfEdges++;
+			}
+		}
+		edgeFirst = new int[numberOfEdges];
+		edgeSecond = new int[numberOfEdges];
+		relations = new BitMatrix[numberOfEdges];
+		edges = new int[n][];
+		for (int x = 0; x < n; x++) {
+			edges[x] = new int[neighbours[x].length];
+		}
+		int e = 0;
+		for (int x = 0; x < n; x++) {
+			for (int k = 0; k < neighbours[x].length; k++) {
+				int y = neighbours[x][k];
+				if (y > x) {
+					edgeFirst[e] = x;
+					edgeSecond[e] = y;
+					relations[e] = compileRelation(csp.findRelation(variables[x], variables[y]), x, y);
+					edges[x][k] = e;
+					edges[y][Arrays.binarySearch(neighbours[y], x)] = e;
+					e++;
+				}
+			}
+		}
+
+		// supports
+		supports = new long[n][][][];
+		for (int x = 0; x < n; x++) {
+			supports[x] = new long[neighbours[x].length][][];
+			for (int k = 0; k < neighbours[x].length; k++) {
+				BitMatrix relation = relations[edges[x][k]];
+				boolean first = edgeFirst[edges[x][k]] == x;
+				long[][] supports_xk = new long[codes[x].length][];
+				for (int a = 0; a < supports_xk.length; a++) {
+					supports_xk[a] = first ? relation.getRow(a) : relation.getColumn(a);
+				}
+				supports[x][k] = supports_xk;
+			}
+		}
+	}
+
+	/**
+	 * It compiles the relation between x and y in a bit matrix. Generated constraints
+	 * are read from their own bit matrix, equality and disequality constraints compare
+	 * the codes of the values, the other constraints are checked on each pair of values.
+	 * @param relation The relation between x and y.
+	 * @param x The first variable.
+	 * @param y The second variable.
+	 * @return The bit matrix of the relation.
+	 */
+	@SuppressWarnings("unchecked")
+	private BitMatrix compileRelation(Relation<T> relation, int x, int y) {
+		int[] codes_x = codes[x];
+		int[] codes_y = codes[y];
+		BitMatrix matrix = new BitMatrix(codes_x.length, codes_y.length, true);
+		// the code of the null value, if it is in the dictionary
+		int nullCode = dictionary.encode(null);
+		for (Constraint<T> constraint : relation.getConstraints()) {
+			boolean direct = constraint.getFirstVariable() == variables[x];
+			if (constraint.getClass() == EqualityConstraint.class
+					|| constraint.getClass() == DisequalityConstraint.class) {
+				boolean equality = constraint.getClass() == EqualityConstraint.class;
+				for (int a = 0; a < codes_x.length; a++) {
+					for (int b = 0; b < codes_y.length; b++) {
+						boolean allowed = codes_x[a] != nullCode && codes_y[b] != nullCode
+								&& (codes_x[a] == codes_y[b]) == equality;
+						if (!allowed)
+							matrix.set(a, b, false);
+					}
+				}
+				continue;
+			}
+			BitMatrix compiled = null;
+			if (constraint instanceof GeneratedConstraint) {
+				compiled = ((GeneratedConstraint<T>) constraint).getRelation();
+				int rows = direct ? codes_x.length : codes_y.length;
+				int columns = direct ? codes_y.length : codes_x.length;
+				if (compiled.getRows() != rows || compiled.getColumns() != columns) {
+					// the domains contain duplicated values
+					compiled = null;
+				}
+			}
+			for (int a = 0; a < codes_x.length; a++) {
+				for (int b = 0; b < codes_y.length; b++) {
+					boolean allowed;
+					if (compiled != null) {
+						allowed = direct ? compiled.get(a, b) : compiled.get(b, a);
+					} else {
+						allowed = constraint.isConsistent(variables[x], dictionary.decode(codes_x[a]), 
+								dictionary.decode(codes_y[b]));
+					}
+					if (!allowed)
+						matrix.set(a, b, false);
+				}
+			}
+		}
+		return matrix;
+	}
+
+	/**
+	 * It returns a new array of n variables.
+	 * @param n The length of the array.
+	 * @return The array of variables.
+	 */
+	private static <T extends Comparable<T>> Variable<T>[] newVariables(int n) {
+		// the array of a generic type is created from its raw type
+		@SuppressWarnings("unchecked")
+		Variable<T>[] array = (Variable<T>[]) new Variable<?>[n];
+		return array;
+	}
+
+	/**
+	 * It returns the number of variables.
+	 * @return the number of variables.
+	 */
+	public int getNumberOfVariables() {
+		return variables.length;
+	}
+
+	/**
+	 * It returns the variable with index x.
+	 * @param x The index of the variable.
+	 * @return the variable.
+	 */
+	public Variable<T> getVariable(int x) {
+		return variables[x];
+	}
+
+	/**
+	 * It returns the domain capacity of the variable x.
+	 * @param x The index of the variable.
+	 * @return the domain capacity.
+	 */
+	public int getDomainSize(int x) {
+		return codes[x].length;
+	}
+
+	/**
+	 * It returns the a-th domain value of the variable x.
+	 * @param x The index of the variable.
+	 * @param a The index of the value.
+	 * @return the domain value.
+	 */
+	public T getValue(int x, int a) {
+		return dictionary.decode(codes[x][a]);
+	}
+
+	/**
+	 * It returns the code of the a-th domain value of the variable x.
+	 * @param x The index of the variable.
+	 * @param a The index of the value.
+	 * @return the code of the domain value.
+	 */
+	public int getCode(int x, int a) {
+		return codes[x][a];
+	}
+
+	/**
+	 * It returns the index of a code in the domain of the variable x. If the code appears
+	 * more than once, the first index is returned.
+	 * @param x The index of the variable.
+	 * @param code A code.
+	 * @return the index of the value, or -1 if the code is not in the domain.
+	 */
+	public int getCodeIndex(int x, int code) {
+		int h = Arrays.binarySearch(sortedCodes[x], code);
+		if (h < 0)
+			return -1;
+		while (h > 0 && sortedCodes[x][h - 1] == code)
+			h--;
+		return sortedIndices[x][h];
+	}
+
+	/**
+	 * It returns the index of a value in the domain of the variable x.
+	 * @param x The index of the variable.
+	 * @param value A value.
+	 * @return the index of the value, or -1 if the value is not in the domain.
+	 */
+	public int getValueIndex(int x, T value) {
+		int code = dictionary.encode(value);
+		return (code < 0) ? -1 : getCodeIndex(x, code);
+	}
+
+	/**
+	 * It returns the dictionary of the domain values.
+	 * @return the dictionary.
+	 */
+	public ValueDictionary<T> getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * It returns the indices of the variables which share a constraint with x, by
+	 * increasing order.
+	 * @param x The index of the variable.
+	 * @return the neighbours of x.
+	 */
+	public int[] getNeighbours(int x) {
+		return neighbours[x];
+	}
+
+	/**
+	 * It returns the edges between x and its neighbours: the k-th entry is the edge
+	 * between x and getNeighbours(x)[k].
+	 * @param x The index of the variable.
+	 * @return the edges of x.
+	 */
+	public int[] getEdges(int x) {
+		return edges[x];
+	}
+
+	/**
+	 * It returns the supports of the values of x on its k-th neighbour: the a-th entry
+	 * is the bitset of the values of getNeighbours(x)[k] compatible with the a-th value
+	 * of x.
+	 * @param x The index of the variable.
+	 * @param k The position of the neighbour in the adjacency list of x.
+	 * @return the supports of x on its k-th neighbour.
+	 */
+	public long[][] getSupports(int x, int k) {
+		return supports[x][k];
+	}
+
+	/**
+	 * It returns true if the a-th value of x and the b-th value of its k-th neighbour are
+	 * compatible, false otherwise.
+	 * @param x The index of the variable.
+	 * @param k The position of the neighbour in the adjacency list of x.
+	 * @param a The index of the value of x.
+	 * @param b The index of the value of the neighbour.
+	 * @return True if the pair of values is allowed, false otherwise.
+	 */
+	public boolean isAllowed(int x, int k, int a, int b) {
+		return (supports[x][k][a][b >>> 6] & (1L << b)) != 0;
+	}
+
+	/**
+	 * It returns the number of edges of the constraint graph.
+	 * @return the number of edges.
+	 */
+	public int getNumberOfEdges() {
+		return relations.length;
+	}
+
+	/**
+	 * It returns the first variable of the edge e.
+	 * @param e The edge.
+	 * @return the index of the first variable.
+	 */
+	public int getEdgeFirst(int e) {
+		return edgeFirst[e];
+	}
+
+	/**
+	 * It returns the second variable of the edge e.
+	 * @param e The edge.
+	 * @return the index of the second variable.
+	 */
+	public int getEdgeSecond(int e) {
+		return edgeSecond[e];
+	}
+
+	/**
+	 * It returns the relation of the edge e, between the values of its first variable
+	 * (rows) and the values of its second variable (columns).
+	 * @param e The edge.
+	 * @return the relation.
+	 */
+	public BitMatrix getRelation(int e) {
+		return relations[e];
+	}
+
+}
@@ -19,6 +19,8 @@
  *
  * Created on: 16/06/2007
  * Modifies:
+ * 			v.1.3 (17/10/2026): Added getVersion().
+ * 			v.1.2 (16/10/2026): Added isConsistent(var, value, otherValue).
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (16/06/2007): Codify of the class.
  */
@@ -28,7 +30,7 @@ package csp;
  * This class represents a generic constraint between Variables.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.3
  * @param <T> the type of objects that this object may be compared to
  */
 public abstract class Constraint<T extends Comparable<T>> {
@@ -74,6 +76,15 @@ public abstract class Constraint<T extends Comparable<T>> {
     	return var2;
     }
     
+    /**
+     * It returns the version of the constraint, which increases each time the constraint
+     * is modified. The version of a constraint which can't be modified is always 0.
+     * @return The version of the constraint.
+     */
+    public long getVersion() {
+    	return 0;
+    }
+    
     /**
      * It returns true if the constraint is defined by var1 and var2, false otherwise.
      * 
@@ -106,6 +117,23 @@ public abstract class Constraint<T extends Comparable<T>> {
      */
     public abstract boolean isConsistent(T value1, T value2);
     
+    /**
+     * It returns true if the value for the variable var and the value otherValue for
+     * the other variable of the constraint hold the constraint satisfied. Unlike 
+     * isConsistent(value1, value2), the values are swapped when var is the second variable.
+     * @param var The variable which receives value.
+     * @param value The value for the variable var.
+     * @param otherValue The value for the other variable of the constraint.
+     * @return True if the constraint is still consistent with this assignment, false
+     * otherwise.
+     */
+    public boolean isConsistent(Variable<T> var, T value, T otherValue) {
+    	if(var1.equals(var)) {
+    		return isConsistent(value, otherValue);
+    	}
+    	return isConsistent(otherValue, value);
+    }
+    
     /**
      * It returns a representation of the constraint.
      * @return A string that represents the constraint.
@@ -19,6 +19,11 @@
  *
  * Created on: 16/06/2007
  * Modifies:
+ * 			v.1.6 (17/10/2026): Compiled relation published as a whole to the other threads.
+ * 			v.1.5 (17/10/2026): Version of the constraint and of the domains of its variables.
+ * 			v.1.4 (17/10/2026): Relation compiled again when a domain changes.
+ * 			v.1.3 (17/10/2026): Documentation of the index of the domain values.
+ * 			v.1.2 (16/10/2026): Compiled bit matrix relation.
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (16/06/2007): Codify of the class.
  */
@@ -27,10 +32,12 @@ package csp;
 import java.util.*;
 
 /**
- * This constraint is used by the generator of problems.
+ * This constraint is used by the generator of problems. The list of value pairs disallowed
+ * is compiled in a bit matrix over the value indices of the domains of the two variables,
+ * so a consistency check costs O(1) from either variable.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.6
  * @param <T> the type of objects that this object may be compared to
  */
 public class GeneratedConstraint<T extends Comparable<T>> extends HardConstraint<T> {
@@ -91,6 +98,65 @@ public class GeneratedConstraint<T extends Comparable<T>> extends HardConstraint
 	 */
 	protected LinkedList<ValuePairDisallowed> listDisallowed = new LinkedList<ValuePairDisallowed>();
 	
+	/**
+	 * This class represents the relation compiled with respect to the domains of the two
+	 * variables. It is immutable, so it can be read by more threads at the same time.
+	 */
+	private class Compilation {
+		/**
+		 * The entry [i,j] is set if the pair (i-th domain value of the first variable,
+		 * j-th domain value of the second variable) is allowed.
+		 */
+		private final BitMatrix relation;
+		/**
+		 * It maps a domain value of the first variable to its index in the domain.
+		 */
+		private final HashMap<T, Integer> index1;
+		/**
+		 * It maps a domain value of the second variable to its index in the domain.
+		 */
+		private final HashMap<T, Integer> index2;
+		/**
+		 * It is true if some value pair disallowed contains a value which is not in the 
+		 * domains, so it could not be compiled in the relation.
+		 */
+		private final boolean uncompiledPairs;
+		/**
+		 * The sum of the versions of the constraint and of its variables when the relation
+		 * was compiled.
+		 */
+		private final long version;
+
+		/**
+		 * It initializes a compiled relation.
+		 * @param relation The relation between the value indices.
+		 * @param index1 The indices of the values of the first variable.
+		 * @param index2 The indices of the values of the second variable.
+		 * @param uncompiledPairs True if some pair could not be compiled.
+		 * @param version The version of the data of the relation.
+		 */
+		private Compilation(BitMatrix relation, HashMap<T, Integer> index1, 
+				HashMap<T, Integer> index2, boolean uncompiledPairs, long version) {
+			this.relation = relation;
+			this.index1 = index1;
+			this.index2 = index2;
+			this.uncompiledPairs = uncompiledPairs;
+			this.version = version;
+		}
+	} // end inner class Compilation
+	
+	/**
+	 * The compiled relation, or null if it has not been compiled yet. It is replaced as a
+	 * whole, so a thread never sees the indices of a compilation with the relation of 
+	 * another one.
+	 */
+	private volatile Compilation compilation = null;
+	
+	/**
+	 * The version of the constraint, increased when a pair of values is disallowed.
+	 */
+	private volatile long version = 0;
+	
     /**
      * It initializes a binary hard constraint which is generated by the generator of problems.
      * @param variable1 The first variable of the binary hard constraint.
@@ -114,8 +180,129 @@ public class GeneratedConstraint<T extends Comparable<T>> extends HardConstraint
 	 * @param value2 The second value of the pair.
 	 */
 	public void addDisallowedPair(T value1, T value2) {
-		if(value1 != null && value2 != null)
+		if(value1 != null && value2 != null) {
 			listDisallowed.add(new ValuePairDisallowed(value1, value2));
+			// the relation will be compiled again on the next check
+			version++;
+		}
+	}
+	
+	/**
+	 * It compiles the list of value pairs disallowed in the bit matrix relation, with respect
+	 * to the current domains of the two variables. It is invoked automatically on the first
+	 * check after a pair is added or a domain is changed by the methods of Variable. If a 
+	 * domain is changed through the list returned by Variable.getDomain(), it must be 
+	 * invoked explicitly.
+	 */
+	public void compile() {
+		compilation = build();
+	}
+	
+	/**
+	 * It returns the current compilation of the relation. It is compiled again if the
+	 * constraint or the domains have changed since the last compilation.
+	 * @return The compiled relation.
+	 */
+	private Compilation getCompilation() {
+		Compilation current = compilation;
+		if(current == null || current.version != getCompilationVersion()) {
+			current = build();
+			compilation = current;
+		}
+		return current;
+	}
+	
+	/**
+	 * It builds a new compilation of the relation from the current domains.
+	 * @return The compiled relation.
+	 */
+	private Compilation build() {
+		// the version is read first, so a change done meanwhile compiles it again
+		long compilationVersion = getCompilationVersion();
+		HashMap<T, Integer> index1 = indexDomain(var1.getDomain());
+		HashMap<T, Integer> index2 = indexDomain(var2.getDomain());
+		BitMatrix compiled = new BitMatrix(index1.size(), index2.size(), true);
+		boolean uncompiled = false;
+		Integer i = null, j = null;
+		for(ValuePairDisallowed pair : listDisallowed) {
+			i = index1.get(pair.first);
+			j = index2.get(pair.second);
+			if(i != null && j != null) {
+				compiled.set(i.intValue(), j.intValue(), false);
+			} else {
+				uncompiled = true;
+			}
+		}
+		return new Compilation(compiled, index1, index2, uncompiled, compilationVersion);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * It returns the sum of the versions of the constraint and of its variables, which 
+	 * changes when the relation must be compiled again.
+	 * @return The version of the data of the relation.
+	 */
+	private long getCompilationVersion() {
+		return version + var1.getVersion() + var2.getVersion();
+	}
+	
+	/**
+	 * It maps each value of the domain to its index. The indices are the positions among the
+	 * distinct values of the domain: a value which appears more than once is counted only 
+	 * at its first occurrence.
+	 * @param domain A domain.
+	 * @return A map <value, index>.
+	 */
+	private HashMap<T, Integer> indexDomain(LinkedList<T> domain) {
+		HashMap<T, Integer> index = new HashMap<T, Integer>();
+		if(domain != null) {
+			int k = 0;
+			for(T value : domain) {
+				if(!index.containsKey(value)) {
+					index.put(value, Integer.valueOf(k));
+					k++;
+				}
+			}
+		}
+		return index;
+	}
+	
+	/**
+	 * It returns the compiled relation between the domain value indices of the first and
+	 * the second variable.
+	 * @return the compiled relation.
+	 */
+	public BitMatrix getRelation() {
+		return getCompilation().relation;
+	}
+	
+	/**
+	 * It returns true if the pair (index1-th domain value of the first variable, index2-th
+	 * domain value of the second variable) is allowed, false otherwise.
+	 * @param index1 The value index for the first variable.
+	 * @param index2 The value index for the second variable.
+	 * @return True if the pair is allowed, false otherwise.
+	 */
+	public boolean isAllowed(int index1, int index2) {
+		return getRelation().get(index1, index2);
+	}
+	
+	/**
+	 * It returns true if the pair (index1-th domain value of the first variable, index2-th
+	 * domain value of the second variable) is allowed, false otherwise. It is used to check
+	 * from the second variable.
+	 * @param index2 The value index for the second variable.
+	 * @param index1 The value index for the first variable.
+	 * @return True if the pair is allowed, false otherwise.
+	 */
+	public boolean isAllowedReverse(int index2, int index1) {
+		return getRelation().getTransposed(index2, index1);
 	}
 
 	/**
@@ -127,16 +314,49 @@ public class GeneratedConstraint<T extends Comparable<T>> extends HardConstraint
 	 * false otherwise.
 	 */
 	public boolean isConsistent(T value1, T value2) {
-		ValuePairDisallowed disallowPair = null;
-		boolean consistent = true;
-		for(int i = 0; i < listDisallowed.size() && consistent; i++) {
-			disallowPair = listDisallowed.get(i);
+		Compilation current = getCompilation();
+		Integer i = current.index1.get(value1);
+		Integer j = current.index2.get(value2);
+		if(i != null && j != null) {
+			return current.relation.get(i.intValue(), j.intValue());
+		}
+		// at least one value is not in the domains
+		return !current.uncompiledPairs || isConsistentList(value1, value2);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isConsistent(Variable<T> var, T value, T otherValue) {
+		if(var1.equals(var)) {
+			return isConsistent(value, otherValue);
+		}
+		// the check is done from the second variable
+		Compilation current = getCompilation();
+		Integer j = current.index2.get(value);
+		Integer i = current.index1.get(otherValue);
+		if(i != null && j != null) {
+			return current.relation.getTransposed(j.intValue(), i.intValue());
+		}
+		return !current.uncompiledPairs || isConsistentList(otherValue, value);
+	}
+	
+	/**
+	 * It returns true if the pair (value1, value2) does not appear in the list of disallowed pairs, 
+	 * false otherwise. It scans the list, so it is used only for values out of the domains.
+	 * @param value1 The value for the first variable.
+	 * @param value2 The value for the second variable.
+	 * @return True if the pair (value1, value2) does not appear in the list of disallowed pairs, 
+	 * false otherwise.
+	 */
+	private boolean isConsistentList(T value1, T value2) {
+		for(ValuePairDisallowed disallowPair : listDisallowed) {
 			if(disallowPair.first.equals(value1) && disallowPair.second.equals(value2)) {
 				// A matching is found
-				consistent = false;
+				return false;
 			}
 		}
-		return consistent;
+		return true;
 	}
 	
     /**
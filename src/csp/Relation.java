@@ -0,0 +1,121 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Documentation and codify of the class.
+ */
+package csp;
+
+import java.util.*;
+
+/**
+ * This class represents the relation between an ordered pair of variables. It merges
+ * all the constraints defined between the two variables: a pair of values is allowed
+ * if it is allowed by each constraint. The values are always given in the order of
+ * the pair, whatever the order of the variables inside each constraint.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class Relation<T extends Comparable<T>> {
+
+	/**
+	 * The first variable of the pair.
+	 */
+	private Variable<T> first;
+
+	/**
+	 * The second variable of the pair.
+	 */
+	private Variable<T> second;
+
+	/**
+	 * The constraints defined between the two variables.
+	 */
+	private ArrayList<Constraint<T>> constraints = new ArrayList<Constraint<T>>(1);
+
+	/**
+	 * It initializes an empty relation between first and second.
+	 * @param first The first variable of the pair.
+	 * @param second The second variable of the pair.
+	 */
+	public Relation(Variable<T> first, Variable<T> second) {
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * It adds a constraint defined between the two variables to the relation.
+	 * @param constraint A constraint on the two variables.
+	 */
+	public void add(Constraint<T> constraint) {
+		constraints.add(constraint);
+	}
+
+	/**
+	 * It returns true if the values firstValue and secondValue, respectively for the first
+	 * and the second variable of the pair, hold all constraints satisfied.
+	 * @param firstValue The value for the first variable.
+	 * @param secondValue The value for the second variable.
+	 * @return True if all constraints are consistent with this assignment, false otherwise.
+	 */
+	public boolean isConsistent(T firstValue, T secondValue) {
+		for (int i = 0; i < constraints.size(); i++) {
+			if (!constraints.get(i).isConsistent(first, firstValue, secondValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * It returns the first variable of the pair.
+	 * @return The first variable of the pair.
+	 */
+	public Variable<T> getFirstVariable() {
+		return first;
+	}
+
+	/**
+	 * It returns the second variable of the pair.
+	 * @return The second variable of the pair.
+	 */
+	public Variable<T> getSecondVariable() {
+		return second;
+	}
+
+	/**
+	 * It returns the constraints defined between the two variables.
+	 * @return the list of constraints.
+	 */
+	public List<Constraint<T>> getConstraints() {
+		return Collections.unmodifiableList(constraints);
+	}
+
+	/**
+	 * It returns a representation of the relation.
+	 * @return A string that represents the relation.
+	 */
+	public String toString() {
+		return new String(first.toString() + " relation " + second.toString());
+	}
+
+}
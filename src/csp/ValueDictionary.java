@@ -0,0 +1,108 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Codes boxed by Integer.valueOf().
+ * 			v.1.0 (17/10/2026): Documentation and codify of the class.
+ */
+package csp;
+
+import java.util.*;
+
+/**
+ * This class represents a dictionary of the domain values of a CSP. Each distinct value
+ * (by equals()) receives a dense integer code, from 0 to size()-1. The codes follow the
+ * natural ordering of the values (by compareTo(); the null value comes first), so two
+ * codes can be compared instead of the values they represent.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ * @param <T> the type of objects that this object may be compared to
+ */
+public class ValueDictionary<T extends Comparable<T>> {
+
+	/**
+	 * The code of each value.
+	 */
+	private HashMap<T, Integer> codes;
+
+	/**
+	 * The value of each code.
+	 */
+	private Object[] values;
+
+	/**
+	 * It builds the dictionary of the domain values of the variables.
+	 * @param variables A collection of variables.
+	 */
+	@SuppressWarnings("unchecked")
+	public ValueDictionary(Collection<Variable<T>> variables) {
+		codes = new HashMap<T, Integer>();
+		for (Variable<T> var : variables) {
+			if (var.getDomain() != null) {
+				for (T value : var.getDomain()) {
+					codes.put(value, null);
+				}
+			}
+		}
+		values = codes.keySet().toArray();
+		Arrays.sort(values, new Comparator<Object>() {
+			public int compare(Object o1, Object o2) {
+				if (o1 == null)
+					return (o2 == null) ? 0 : -1;
+				if (o2 == null)
+					return 1;
+				return ((T) o1).compareTo((T) o2);
+			}
+		});
+		for (int code = 0; code < values.length; code++) {
+			codes.put((T) values[code], Integer.valueOf(code));
+		}
+	}
+
+	/**
+	 * It returns the number of codes.
+	 * @return the number of distinct values.
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * It returns the code of a value.
+	 * @param value A value.
+	 * @return the code of the value, or -1 if the value is not in the dictionary.
+	 */
+	public int encode(T value) {
+		Integer code = codes.get(value);
+		return (code == null) ? -1 : code.intValue();
+	}
+
+	/**
+	 * It returns the value of a code.
+	 * @param code A code.
+	 * @return the value of the code.
+	 */
+	@SuppressWarnings("unchecked")
+	public T decode(int code) {
+		return (T) values[code];
+	}
+
+}
@@ -19,6 +19,10 @@
  *
  * Created on: 16/06/2007
  * Modifies:
+ * 			v.1.5 (17/10/2026): Version of the domain.
+ * 			v.1.4 (17/10/2026): Changes of the domain recorded for the compiled problems.
+ * 			v.1.3 (17/10/2026): Thread-safe counter of the variables created.
+ * 			v.1.2 (17/10/2026): Added index, getIndex(), setIndex().
  * 			v.1.1 (19/06/2007): Added: getSolution(), setSolution(), id, counter, getId().
  * 								Changed method: toStringSolution().
  * 			v.1.0 (16/06/2007): Documentation and codify of the class.
@@ -26,26 +30,35 @@
 package csp;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
 /**
- * This class represents a generic variable.
+ * This class represents a generic variable. The search algorithms don't modify the
+ * variable: they keep assignments and solutions in their own state, and they write a
+ * solution by setSolution() only if it is requested (see SearchAlgorithm).
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.5
  * @param <T> the type of objects that this object may be compared to
  */
 public class Variable<T extends Comparable<T>> {
 
 	/**
-	 * The counter of variables created
+	 * The counter of variables created. Variables can be created by more threads.
 	 */
-	private static long counter = 0;
+	private static final AtomicLong counter = new AtomicLong();
 	
 	/**
 	 * The id of the variable
 	 */
 	private long id = 0;
 	
+	/**
+	 * The dense index of the variable in the CSP which contains it, in [0, N-1].
+	 * It is -1 if the variable has not been added to a CSP.
+	 */
+	private int index = -1;
+	
 	// DATA FIELDS	
 	/** 
 	 * The name of the variable. 
@@ -67,6 +80,12 @@ public class Variable<T extends Comparable<T>> {
 	 */
 	private LinkedList<T> domain;
 	
+	/**
+	 * The version of the domain, increased each time it is changed by the methods of the 
+	 * variable.
+	 */
+	private volatile long version = 0;
+	
 	
     // CONSTRUCTORS
 	/**
@@ -74,8 +93,7 @@ public class Variable<T extends Comparable<T>> {
 	 * @param name The name of the variable.
 	 */
     public Variable(String name) {
-    	id = counter;
-    	counter++;
+    	id = counter.getAndIncrement();
     	if(name != null)
     		this.name = name;
        	else 
@@ -90,8 +108,7 @@ public class Variable<T extends Comparable<T>> {
 	 * @param domain The domain where the variable is defined.
 	 */ 
     public Variable(String name, LinkedList<T> domain) {
-    	id = counter;
-    	counter++;
+    	id = counter.getAndIncrement();
        	if(name != null)
        		this.name = name;
        	else 
@@ -139,6 +156,7 @@ public class Variable<T extends Comparable<T>> {
     public void setDomain(LinkedList<T> domain) {
     	// It initializes with the received domain.
     	this.domain = domain;
+    	version++;
     }
     
     /**
@@ -165,6 +183,7 @@ public class Variable<T extends Comparable<T>> {
      */
     public void remove(T object) {
     	domain.remove(object);
+    	version++;
     }
     
     /**
@@ -176,6 +195,7 @@ public class Variable<T extends Comparable<T>> {
     		for(int i = 0; i < objects.size(); i++) {
     			domain.remove(objects.get(i));
     		}
+    		version++;
     	}
     }
    
@@ -188,6 +208,7 @@ public class Variable<T extends Comparable<T>> {
     		domain = new LinkedList<T>();
     	}
     	domain.add(object);
+    	version++;
     }
     
     /**
@@ -201,6 +222,7 @@ public class Variable<T extends Comparable<T>> {
     	for(int i = 0; i < objects.size(); i++) {
     		domain.add(objects.get(i));
     	}
+    	version++;
     }
     
    
@@ -286,5 +308,33 @@ public class Variable<T extends Comparable<T>> {
 		return id;
 	}
 	
+	/**
+	 * It returns the dense index of the variable in the CSP which contains it. The
+	 * variables of a CSP with N variables have the indices 0, 1, ..., N-1, so the search 
+	 * algorithms can hold their state in arrays. If the variable is added to more than
+	 * one CSP, the index is the one assigned by the last CSP.
+	 * @return the index of the variable, or -1 if it is not in a CSP.
+	 */
+	public int getIndex() {
+		return index;
+	}
+	
+	/**
+	 * It returns the version of the domain. It increases each time the domain is changed
+	 * by setDomain(), add() or remove(), so the compiled problems can see the change.
+	 * @return the version of the domain.
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * It sets the dense index of the variable. It is used by the CSP.
+	 * @param index the index of the variable.
+	 */
+	void setIndex(int index) {
+		this.index = index;
+	}
+	
 }
 
@@ -0,0 +1,50 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package heuristic;
+
+/**
+ * This class implements the dom/deg heuristic. It chooses the variable with the minimum
+ * ratio between its current domain size and its degree in the constraint graph.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class DomainDegreeVariableHeuristic extends DynamicVariableHeuristic {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int compare(int x, int sizeX, int y, int sizeY) {
+		return compareRatios(sizeX, compiled.getNeighbours(x).length,
+				sizeY, compiled.getNeighbours(y).length);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "Domain over Degree Variable Heuristic (dom/deg)";
+	}
+
+}
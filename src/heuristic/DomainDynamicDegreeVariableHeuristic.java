@@ -0,0 +1,96 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package heuristic;
+
+import csp.CompiledCSP;
+
+/**
+ * This class implements the dom/ddeg heuristic. It chooses the variable with the minimum
+ * ratio between its current domain size and its dynamic degree: the number of its
+ * neighbours not still assigned.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class DomainDynamicDegreeVariableHeuristic extends DynamicVariableHeuristic {
+
+	/**
+	 * The dynamic degrees. The entry [x] is the number of neighbours of the variable x not
+	 * still assigned.
+	 */
+	private int[] degrees = null;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void initialize(CompiledCSP<?> compiled) {
+		super.initialize(compiled);
+		degrees = new int[compiled.getNumberOfVariables()];
+		for (int x = 0; x < degrees.length; x++) {
+			degrees[x] = compiled.getNeighbours(x).length;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void assign(int x) {
+		int[] neighbours_x = compiled.getNeighbours(x);
+		for (int h = 0; h < neighbours_x.length; h++) {
+			degrees[neighbours_x[h]]--;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void unassign(int x) {
+		int[] neighbours_x = compiled.getNeighbours(x);
+		for (int h = 0; h < neighbours_x.length; h++) {
+			degrees[neighbours_x[h]]++;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isNeighbourDependent() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int compare(int x, int sizeX, int y, int sizeY) {
+		return compareRatios(sizeX, degrees[x], sizeY, degrees[y]);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "Domain over Dynamic Degree Variable Heuristic (dom/ddeg)";
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package heuristic;
+
+import java.util.Arrays;
+
+import csp.CompiledCSP;
+
+/**
+ * This class implements the dom/wdeg heuristic. Each constraint has a weight, initially 1,
+ * which is increased every time the constraint wipes out a domain. The heuristic chooses
+ * the variable with the minimum ratio between its current domain size and its weighted
+ * degree: the sum of the weights of its constraints with variables not still assigned.
+ * So the search learns which variables are involved in the conflicts.
+ * <p>
+ * The weights are indexed by the edges of the compiled CSP (see CompiledCSP.getEdges())
+ * and they are kept until initialize() is called again.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.0
+ */
+public class DomainWeightedDegreeVariableHeuristic extends DynamicVariableHeuristic {
+
+	/**
+	 * The weights of the constraints. The entry [e] is the weight of the edge e.
+	 */
+	private int[] weights = null;
+
+	/**
+	 * The weighted degrees. The entry [x] is the sum of the weights of the edges between x
+	 * and its neighbours not still assigned.
+	 */
+	private long[] degrees = null;
+
+	/**
+	 * The variables assigned. The entry [x] is true if x is assigned.
+	 */
+	private boolean[] assigned = null;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void initialize(CompiledCSP<?> compiled) {
+		super.initialize(compiled);
+		int numberOfVariables = compiled.getNumberOfVariables();
+		weights = new int[compiled.getNumberOfEdges()];
+		Arrays.fill(weights, 1);
+		degrees = new long[numberOfVariables];
+		assigned = new boolean[numberOfVariables];
+		for (int x = 0; x < numberOfVariables; x++) {
+			degrees[x] = compiled.getNeighbours(x).length;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void assign(int x) {
+		assigned[x] = true;
+		int[] neighbours_x = compiled.getNeighbours(x);
+		int[] edges_x = compiled.getEdges(x);
+		for (int h = 0; h < neighbours_x.length; h++) {
+			degrees[neighbours_x[h]] -= weights[edges_x[h]];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void unassign(int x) {
+		assigned[x] = false;
+		int[] neighbours_x = compiled.getNeighbours(x);
+		int[] edges_x = compiled.getEdges(x);
+		for (int h = 0; h < neighbours_x.length; h++) {
+			degrees[neighbours_x[h]] += weights[edges_x[h]];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void wipeOut(int x, int k) {
+		weights[compiled.getEdges(x)[k]]++;
+		// the weighted degree of an endpoint counts the edge if the other one is not assigned
+		int y = compiled.getNeighbours(x)[k];
+		if (!assigned[y])
+			degrees[x]++;
+		if (!assigned[x])
+			degrees[y]++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isNeighbourDependent() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int compare(int x, int sizeX, int y, int sizeY) {
+		return compareRatios(sizeX, degrees[x], sizeY, degrees[y]);
+	}
+
+	/**
+	 * It returns the weight of the edge e.
+	 * @param e The index of the edge.
+	 * @return The weight of e.
+	 */
+	public int getWeight(int e) {
+		return weights[e];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "Domain over Weighted Degree Variable Heuristic (dom/wdeg)";
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * CSP - Backtracking search with forward checking and heuristics.
+ * Copyright (C) 2007. Piero Dalle Pezze, -
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * Created on: 17/10/2026
+ * Modifies:
+ * 			v.1.1 (17/10/2026): Notification of the domain wipe-outs.
+ * 			v.1.0 (17/10/2026): Class codify and documentation.
+ */
+package heuristic;
+
+import csp.CompiledCSP;
+
+/**
+ * This class defines a generic heuristic which chooses the next variable at each node of
+ * the search, from the current domain sizes of the variables not still assigned. Unlike
+ * NextVariableHeuristic, the ordering is not fixed before the search.
+ * <p>
+ * The variables are identified by their indices in a compiled CSP. The search algorithm
+ * tells the heuristic which variables are assigned (see assign() and unassign()), and it
+ * asks it to compare two variables with compare(). If two variables are equivalent, the
+ * search algorithm chooses the first one in the static ordering of NextVariableHeuristic.
+ *
+ * @author Piero Dalle Pezze
+ * @version 1.1
+ */
+public abstract class DynamicVariableHeuristic {
+
+	/**
+	 * The compiled CSP of reference.
+	 */
+	protected CompiledCSP<?> compiled = null;
+
+	/**
+	 * It initializes the heuristic on a compiled CSP, with all variables not assigned.
+	 * @param compiled The compiled CSP.
+	 */
+	public void initialize(CompiledCSP<?> compiled) {
+		this.compiled = compiled;
+	}
+
+	/**
+	 * It is called when the variable x is assigned. By default it does nothing.
+	 * @param x The index of the variable.
+	 */
+	public void assign(int x) {
+	}
+
+	/**
+	 * It is called when the assignment of the variable x is undone. By default it does
+	 * nothing.
+	 * @param x The index of the variable.
+	 */
+	public void unassign(int x) {
+	}
+
+	/**
+	 * It is called when the assignment of the variable x wipes out the domain of its k-th
+	 * neighbour (see CompiledCSP.getNeighbours()). By default it does nothing.
+	 * @param x The index of the variable assigned.
+	 * @param k The position of the neighbour in the neighbours of x.
+	 */
+	public void wipeOut(int x, int k) {
+	}
+
+	/**
+	 * It returns true if assign() and unassign() of a variable change the comparisons of
+	 * its neighbours. By default it returns false.
+	 * @return True if the neighbours must be compared again, false otherwise.
+	 */
+	public boolean isNeighbourDependent() {
+		return false;
+	}
+
+	/**
+	 * It compares two variables not still assigned. It returns a negative number if x
+	 * must be chosen before y, a positive number if y must be chosen before x, 0 if they
+	 * are equivalent.
+	 * @param x The index of the first variable.
+	 * @param sizeX The current domain size of x.
+	 * @param y The index of the second variable.
+	 * @param sizeY The current domain size of y.
+	 * @return The comparison of x and y.
+	 */
+	public abstract int compare(int x, int sizeX, int y, int sizeY);
+
+	/**
+	 * It compares the ratios sizeX / degreeX and sizeY / degreeY without divisions. A ratio
+	 * with degree 0 follows all ratios with a positive degree.
+	 * @param sizeX The domain size of x.
+	 * @param degreeX The degree of x.
+	 * @param sizeY The domain size of y.
+	 * @param degreeY The degree of y.
+	 * @return The comparison of the two ratios.
+	 */
+	protected static int compareRatios(long sizeX, long degreeX, long sizeY, long degreeY) {
+		if (degreeX == 0 || degreeY == 0) {
+			if (degreeX != degreeY)
+				return (degreeX == 0) ? 1 : -1;
+			return (sizeX < sizeY) ? -1 : ((sizeX == sizeY) ? 0 : 1);
+		}
+		long left = sizeX * degreeY;
+		long right = sizeY * degreeX;
+		return (left < right) ? -1 : ((left == right) ? 0 : 1);
+	}
+
+	/**
+	 * It returns the name of the heuristic.
+	 * @return The name of the heuristic.
+	 */
+	public String toString() {
+		return "Generic Dynamic Variable Heuristic";
+	}
+
+}
@@ -19,6 +19,7 @@
  *
  * Created on: 19/06/2007
  * Modifies:
+ * 			v.1.1 (17/10/2026): Variables with domains of the same size are tied.
  * 			v.1.0 (19/06/2007): Documentation and codify of the class.
  */
 package heuristic;
@@ -33,7 +34,7 @@ import csp.Variable;
  * So the first variable will be the variable with minimum domain.
  * 
  * @author Piero Dalle Pezze
- * @version 1.0
+ * @version 1.1
  * @param <T> the type of objects that this object may be compared to
  */
 public class MinimumDomainVariableHeuristic<T extends Comparable<T>> extends NextVariableHeuristic<T> {
@@ -92,6 +93,16 @@ public class MinimumDomainVariableHeuristic<T extends Comparable<T>> extends Nex
 		}
 	}
 	
+	/**
+	 * It returns true if the domains of var1 and var2 have the same size.
+	 * @param var1 A variable.
+	 * @param var2 Another variable.
+	 * @return True if var1 and var2 are tied, false otherwise.
+	 */
+	public boolean isTie(Variable<T> var1, Variable<T> var2) {
+		return var1.getDomain().size() == var2.getDomain().size();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -19,6 +19,7 @@
  *
  * Created on: 17/06/2007
  * Modifies:
+ * 			v.1.2 (17/10/2026): Variables with the same number of constraints are tied.
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (17/06/2007): Codify of the class.
  */
@@ -35,7 +36,7 @@ import csp.Variable;
  * So the first variable will be the most constrained variable.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.2
  * @param <T> the type of objects that this object may be compared to
  */
 public class MostConstrainedVariableHeuristic<T extends Comparable<T>> extends NextVariableHeuristic<T> {
@@ -80,6 +81,11 @@ public class MostConstrainedVariableHeuristic<T extends Comparable<T>> extends N
 		}
 	} // end inner class VarNumConstraint
 	
+	/**
+	 * The number of constraints of each variable.
+	 */
+	protected HashMap<Variable<T>, Integer> numConstraints = new HashMap<Variable<T>, Integer>();
+	
 	/**
 	 * It constructs an empty linked list of variables.
 	 */
@@ -118,6 +124,7 @@ public class MostConstrainedVariableHeuristic<T extends Comparable<T>> extends N
 	private void initialize(LinkedList<Variable<T>> variables, LinkedList<Constraint<T>> constraints) {
 		// it initializes an empty list.
 		this.variables = new LinkedList<Variable<T>>();
+		numConstraints.clear();
 		// A list of VarNumConstraint. 
 		// This list is sorted by number of constraints decreasing.
 		LinkedList<VarNumConstraint> structure = new LinkedList<VarNumConstraint>();
@@ -137,6 +144,7 @@ public class MostConstrainedVariableHeuristic<T extends Comparable<T>> extends N
 					numOfConstraints++;
 				}
 			}
+			numConstraints.put(var, Integer.valueOf(numOfConstraints));
 			// It adds to the structure the pair <var, numOfConstraints> by holding
 			// the list sorted by number of constraints decreasing.
 			added = false;
@@ -160,6 +168,18 @@ public class MostConstrainedVariableHeuristic<T extends Comparable<T>> extends N
 
 	}
 	
+	/**
+	 * It returns true if var1 and var2 have the same number of constraints.
+	 * @param var1 A variable.
+	 * @param var2 Another variable.
+	 * @return True if var1 and var2 are tied, false otherwise.
+	 */
+	public boolean isTie(Variable<T> var1, Variable<T> var2) {
+		Integer num1 = numConstraints.get(var1);
+		Integer num2 = numConstraints.get(var2);
+		return num1 != null && num1.equals(num2);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -19,6 +19,7 @@
  *
  * Created on: 19/06/2007
  * Modifies:
+ * 			v.1.2 (17/10/2026): All the values are tied.
  * 			v.1.1 (20/06/2007): Documentation of the class.
  * 			v.1.0 (19/06/2007): Codify of the class.
  */
@@ -30,7 +31,7 @@ import csp.*;
 /**
  * This heuristic preserves the original ordering of domains.
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.2
  * @param <T> the type of objects that this object may be compared to
  */
 public class NaturalValueHeuristic<T extends Comparable<T>> extends NextValueHeuristic<T> {
@@ -76,6 +77,17 @@ public class NaturalValueHeuristic<T extends Comparable<T>> extends NextValueHeu
 		}
 	}
 	
+	/**
+	 * It returns true: the ordering doesn't prefer any value.
+	 * @param var A variable.
+	 * @param value1 A value of the domain of var.
+	 * @param value2 Another value of the domain of var.
+	 * @return True.
+	 */
+	public boolean isTie(Variable<T> var, T value1, T value2) {
+		return true;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -19,6 +19,7 @@
  *
  * Created on: 17/06/2007
  * Modifies:
+ * 			v.1.2 (17/10/2026): All the variables are tied.
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (17/06/2007): Codify of the class.
  */
@@ -32,7 +33,7 @@ import csp.Variable;
  * mantains the original ordering of variables.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.2
  * @param <T> the type of objects that this object may be compared to
  */
 public class NaturalVariableHeuristic<T extends Comparable<T>> extends NextVariableHeuristic<T> {
@@ -53,6 +54,16 @@ public class NaturalVariableHeuristic<T extends Comparable<T>> extends NextVaria
 		super(variables);
 	}
 	
+	/**
+	 * It returns true: the ordering doesn't prefer any variable.
+	 * @param var1 A variable.
+	 * @param var2 Another variable.
+	 * @return True.
+	 */
+	public boolean isTie(Variable<T> var1, Variable<T> var2) {
+		return true;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -19,6 +19,7 @@
  *
  * Created on: 17/06/2007
  * Modifies:
+ * 			v.1.2 (17/10/2026): Added isTie().
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (17/06/2007): Codify of the class.
  */
@@ -31,7 +32,7 @@ import csp.*;
  * This is a generic heuristic to define which will be the next value of the domain to be chosen.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.2
  * @param <T> the type of objects that this object may be compared to
  */
 public abstract class NextValueHeuristic<T extends Comparable<T>> {
@@ -81,6 +82,19 @@ public abstract class NextValueHeuristic<T extends Comparable<T>> {
 		return map.get(var);
 	}
 	
+	/**
+	 * It returns true if the heuristic has no preference between two values of the domain
+	 * of var, so a search algorithm can swap them (see SearchAlgorithm.setRandom()). By 
+	 * default there are no ties.
+	 * @param var A variable.
+	 * @param value1 A value of the domain of var.
+	 * @param value2 Another value of the domain of var.
+	 * @return True if value1 and value2 are tied, false otherwise.
+	 */
+	public boolean isTie(Variable<T> var, T value1, T value2) {
+		return false;
+	}
+	
 	/**
 	 * It returns the name of the heuristic.
 	 * @return The name of the heuristic.
@@ -19,6 +19,7 @@
  *
  * Created on: 17/06/2007
  * Modifies:
+ * 			v.1.2 (17/10/2026): Added isTie().
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (17/06/2007): Codify of the class.
  */
@@ -33,7 +34,7 @@ import csp.Variable;
  * of the CSP.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.2
  * @param <T> the type of objects that this object may be compared to
  */
 public abstract class NextVariableHeuristic<T extends Comparable<T>> {
@@ -82,6 +83,17 @@ public abstract class NextVariableHeuristic<T extends Comparable<T>> {
 		return variables;
 	}
 	
+	/**
+	 * It returns true if the heuristic has no preference between var1 and var2, so a search 
+	 * algorithm can swap them (see SearchAlgorithm.setRandom()). By default there are no ties.
+	 * @param var1 A variable.
+	 * @param var2 Another variable.
+	 * @return True if var1 and var2 are tied, false otherwise.
+	 */
+	public boolean isTie(Variable<T> var1, Variable<T> var2) {
+		return false;
+	}
+	
 	/**
 	 * It returns the name of the heuristic.
 	 * @return The name of the heuristic.
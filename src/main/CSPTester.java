@@ -19,6 +19,9 @@
  *
  * Created on: 17/06/2007
  * Modifies:
+ * 			v.1.4 (17/10/2026): Solution printed by the search algorithm.
+ * 			v.1.3 (17/10/2026): Search algorithm kept as an int.
+ * 			v.1.2 (17/10/2026): Selection of the search algorithm.
  * 			v.1.1 (18/06/2007): Documentation of the class.
  * 			v.1.0 (17/06/2007): Codify of the class.
  */
@@ -40,7 +43,7 @@ import statistic.*;
  * forward checking and heuristics."
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.4
  */
 public class CSPTester {
 
@@ -52,6 +55,7 @@ public class CSPTester {
 	
 	String inFile, outFile, testParameter;
 	Integer nTests, nIterations, valueHeuristic, variableHeuristic;
+	int algorithm = StatisticTest.FORWARD_CHECKING;
 	StatisticTest sg = null;
 	
 	/**
@@ -78,6 +82,7 @@ public class CSPTester {
 		sg.setTestParameter(testParameter);
 		sg.setVariableHeuristic(variableHeuristic.intValue());
 		sg.setValueHeuristic(valueHeuristic.intValue());
+		sg.setAlgorithm(algorithm);
 		
 	}
 	
@@ -86,7 +91,7 @@ public class CSPTester {
 	 */
 	public void runTest() {
 	    System.out.println("\nSTART TEST" );
-		sg.generateStatistics(new UniformRandomBinaryGenerator(), new ForwardChecking<Integer>());
+		sg.generateStatistics(new UniformRandomBinaryGenerator());
 	}
 	
 	/**
@@ -135,6 +140,10 @@ public class CSPTester {
 			System.out.println( "Error. valueHeuristic <= -1 and valueHeuristic >= -4" );
 			parsing = false;		
 		}
+		if(algorithm < 1 || algorithm > 12) {
+			System.out.println( "Error. algorithm >= 1 and algorithm <= 12" );
+			parsing = false;
+		}
 		if(nIterations < 1) {
 			System.out.println( "Error. nIteration > 0" );
 			parsing = false;
@@ -200,6 +209,20 @@ public class CSPTester {
 		    System.out.println("\t4. Median Value\n? ");
 		    valueHeuristic = new Integer( in.readLine() );
 		    valueHeuristic = new Integer(0 - valueHeuristic.intValue());
+		    System.out.println( "Choose the number of the search algorithm? " );
+		    System.out.println("\t1. Forward Checking");
+		    System.out.println("\t2. Bitset Forward Checking");
+		    System.out.println("\t3. Sparse-Set Forward Checking");
+		    System.out.println("\t4. Iterative Forward Checking");
+		    System.out.println("\t5. Maintaining Arc Consistency");
+		    System.out.println("\t6. Forward Checking with Conflict-Directed Backjumping");
+		    System.out.println("\t7. Backmarking");
+		    System.out.println("\t8. Backmarking with Conflict-Directed Backjumping");
+		    System.out.println("\t9. Dynamic Forward Checking");
+		    System.out.println("\t10. Parallel Portfolio");
+		    System.out.println("\t11. Parallel Forward Checking");
+		    System.out.println("\t12. Decomposition Forward Checking\n? ");
+		    algorithm = Integer.parseInt( in.readLine() );
 		    System.out.print( "Choose the test parameter (N, D, d, T)? " );
 		    testParameter = new String( in.readLine());
 		    
@@ -272,6 +295,11 @@ public class CSPTester {
 					.getAttributes().getNamedItem("valueHeuristic").getNodeValue());
 			variableHeuristic = Integer.parseInt(doc.getElementsByTagName("config").item(12)
 					.getAttributes().getNamedItem("variableHeuristic").getNodeValue());
+			// the search algorithm is optional
+			if(doc.getElementsByTagName("config").getLength() > 13) {
+				algorithm = Integer.parseInt(doc.getElementsByTagName("config").item(13)
+						.getAttributes().getNamedItem("algorithm").getNodeValue());
+			}
 			return true;
 		} catch (NumberFormatException e) {
 			System.out.println(inFile + " doesn't contains numeric values.");
@@ -416,7 +444,7 @@ public class CSPTester {
 		algorithm.search();
 		//algorithm.search(5);
 		//algorithm.searchAll();
-		//csp.printLastSolution();
+		//algorithm.printLastSolution();
 			
 		// STEP 7
 		// It prints statistics
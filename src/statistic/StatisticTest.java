@@ -19,6 +19,18 @@
  *
  * Created on: 20/06/2007
  * Modifies:
+ * 			v.1.13 (17/10/2026): Solution printed by the search algorithm.
+ * 			v.1.12 (17/10/2026): Decomposition forward checking.
+ * 			v.1.11 (17/10/2026): Parallel forward checking.
+ * 			v.1.10 (17/10/2026): Parallel portfolio.
+ * 			v.1.9 (17/10/2026): Nogood recording at the restarts.
+ * 			v.1.8 (17/10/2026): Restart strategies. Statistics about restarts.
+ * 			v.1.7 (17/10/2026): dom/wdeg heuristic.
+ * 			v.1.6 (17/10/2026): Selection of the dynamic variable heuristic.
+ * 			v.1.5 (17/10/2026): Selection of the arc consistency algorithm. Memory used.
+ * 			v.1.4 (17/10/2026): Arc consistency preprocessing.
+ * 			v.1.3 (17/10/2026): Statistics about consistency checks.
+ * 			v.1.2 (17/10/2026): Selection of the search algorithm.
  * 			v.1.1 (20/06/2007): Documentation of the class.
  * 			v.1.0 (19/06/2007): Codify of the class.
  */
@@ -36,7 +48,7 @@ import heuristic.*;
  * This class generates statistics after having solved different kind of generated CSP.
  * It provides a lot of configurable parameters.
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.13
  */
 public class StatisticTest {
 
@@ -82,6 +94,41 @@ public class StatisticTest {
      */
     private int valueHeuristic = 0;
 	
+    /**
+     * It defines the search algorithm used by generateStatistics(generator).
+     */
+    private int algorithm = 1;
+	
+    /**
+     * If it is true, the forward checking algorithms run arc consistency before the search.
+     */
+    private boolean preprocessing = false;
+	
+    /**
+     * It defines the arc consistency algorithm used by MAC and by the preprocessing.
+     */
+    private int arcConsistency = AC_2001;
+	
+    /**
+     * It defines the dynamic variable heuristic used by the dynamic forward checking.
+     */
+    private int dynamicHeuristic = DOM_DEG_HEURISTIC;
+	
+    /**
+     * It defines the restart strategy around the search algorithm.
+     */
+    private int restartStrategy = NO_RESTARTS;
+	
+    /**
+     * The seed of the random tie-breaking used by the restarts.
+     */
+    private long seed = 0;
+	
+    /**
+     * If it is true, the dynamic forward checking records nogoods at the restarts.
+     */
+    private boolean nogoodRecording = false;
+	
     /**
      * It defines the name of the file to print statistics.
      */
@@ -151,6 +198,120 @@ public class StatisticTest {
      */
     public static final int MEDIAN_VALUE_HEURISTIC = -4;
 	
+    // ALGORITHMS
+    /**
+     * The forward checking algorithm.
+     */
+    public static final int FORWARD_CHECKING = 1;
+	
+    /**
+     * The forward checking algorithm with bitset domains.
+     */
+    public static final int BITSET_FORWARD_CHECKING = 2;
+	
+    /**
+     * The forward checking algorithm with sparse-set domains.
+     */
+    public static final int SPARSE_SET_FORWARD_CHECKING = 3;
+	
+    /**
+     * The forward checking algorithm driven by an explicit stack.
+     */
+    public static final int ITERATIVE_FORWARD_CHECKING = 4;
+	
+    /**
+     * The maintaining arc consistency algorithm (MAC).
+     */
+    public static final int MAINTAINING_ARC_CONSISTENCY = 5;
+	
+    /**
+     * The forward checking algorithm with conflict-directed backjumping (FC-CBJ).
+     */
+    public static final int FORWARD_CHECKING_CBJ = 6;
+	
+    /**
+     * The backmarking algorithm.
+     */
+    public static final int BACKMARKING = 7;
+	
+    /**
+     * The backmarking algorithm with conflict-directed backjumping (BM-CBJ).
+     */
+    public static final int BACKMARKING_CBJ = 8;
+	
+    /**
+     * The forward checking algorithm with dynamic variable ordering.
+     */
+    public static final int DYNAMIC_FORWARD_CHECKING = 9;
+	
+    /**
+     * The parallel portfolio of forward checking with the 16 combinations of heuristics.
+     */
+    public static final int PORTFOLIO = 10;
+	
+    /**
+     * The forward checking algorithm run in parallel by a fork/join pool with work stealing.
+     */
+    public static final int PARALLEL_FORWARD_CHECKING = 11;
+	
+    /**
+     * The forward checking algorithm run in parallel on the subproblems of a static decomposition.
+     */
+    public static final int DECOMPOSITION_FORWARD_CHECKING = 12;
+	
+    // ARC CONSISTENCY ALGORITHMS
+    /**
+     * The AC-3 algorithm.
+     */
+    public static final int AC_3 = 1;
+	
+    /**
+     * The AC-2001 algorithm (last supports).
+     */
+    public static final int AC_2001 = 2;
+	
+    /**
+     * The AC-4 algorithm (support counters).
+     */
+    public static final int AC_4 = 3;
+	
+    // DYNAMIC VARIABLE HEURISTICS
+    /**
+     * The dom heuristic (minimum current domain).
+     */
+    public static final int DOM_HEURISTIC = 1;
+	
+    /**
+     * The dom/deg heuristic (current domain over degree).
+     */
+    public static final int DOM_DEG_HEURISTIC = 2;
+	
+    /**
+     * The dom/ddeg heuristic (current domain over dynamic degree).
+     */
+    public static final int DOM_DDEG_HEURISTIC = 3;
+	
+    /**
+     * The dom/wdeg heuristic (current domain over weighted degree).
+     */
+    public static final int DOM_WDEG_HEURISTIC = 4;
+	
+    // RESTART STRATEGIES
+    /**
+     * The search algorithm is not restarted.
+     */
+    public static final int NO_RESTARTS = 0;
+	
+    /**
+     * The search algorithm is restarted with the Luby schedule.
+     */
+    public static final int LUBY_RESTARTS = 1;
+	
+    /**
+     * The search algorithm is restarted with the geometric schedule.
+     */
+    public static final int GEOMETRIC_RESTARTS = 2;
+	
     /**
      * The parameter to change during the advancement of tests.
      */
@@ -169,6 +330,28 @@ public class StatisticTest {
     // used for statistics
     private long[] times = new long[iterations];
     private long[] nodes = new long[iterations];
+    private long[] checks = new long[iterations];
+    private long[] restarts = new long[iterations];
+	
+    /**
+     * The number of problems proved insoluble by the preprocessing on the last test.
+     */
+    private int insoluble = 0;
+	
+    /**
+     * The maximum memory used by the arc consistency algorithm on the last test, in bytes.
+     */
+    private long memory = 0;
+	
+    /**
+     * The average of the number of restarts.
+     */
+    private double averageRestarts = 0.0;
+	
+    /**
+     * The maximum number of restarts.
+     */
+    private long maxRestarts = 0;
 	
     // I moment (average) E[X] = SUMi(xi) * 1/N
     /**
@@ -181,6 +364,11 @@ public class StatisticTest {
      */
     private double averageNodes = 0.0;
 	
+    /**
+     * The average of the number of consistency checks.
+     */
+    private double averageChecks = 0.0;
+	
     // II moment (variance) VAR(X) = SUMi(xi - E[X]) * 1/N 
     /**
      * The execution time variance.
@@ -192,6 +380,11 @@ public class StatisticTest {
      */
     private double varianceNodes = 0.0;
 	
+    /**
+     * The variance of the number of consistency checks.
+     */
+    private double varianceChecks = 0.0;
+	
     /**
      * The standard deviation of the time.
      */
@@ -202,6 +395,11 @@ public class StatisticTest {
      */
     private double sdNodes = 0.0;
 	
+    /**
+     * The standard deviation of the consistency checks.
+     */
+    private double sdChecks = 0.0;
+	
     // III moment / sd^3 (skewness) SUMi(xi - E[X])^3 * 1/N * 1/sd^3
     // It tells informations about the symmetry of the curve. 
     // 1. positive skew: The right tail is the longest; the mass of the distribution is 
@@ -218,6 +416,11 @@ public class StatisticTest {
      */
     private double skewnessNodes = 0.0;
 	
+    /**
+     * The skewness of the number of consistency checks.
+     */
+    private double skewnessChecks = 0.0;
+	
     // IV moment / sd^4 (kurtosis) SUMi(xi - E[X])^4 * 1/N * 1/sd^4
     // It measures the peakedness of the probability distribution
     // 1. positive kurt: The curve is peak respect to the normal distribution.
@@ -232,6 +435,11 @@ public class StatisticTest {
      */
     private double kurtosisNodes = 0.0;
 	
+    /**
+     * The kurtosis of the number of consistency checks.
+     */
+    private double kurtosisChecks = 0.0;
+	
     /**
      * The minimum time
      */
@@ -252,6 +460,16 @@ public class StatisticTest {
      */
     private long maxNodes = 0;
 	
+    /**
+     * The minimum consistency checks
+     */
+    private long minChecks = Long.MAX_VALUE;
+	
+    /**
+     * The maximum consistency checks
+     */
+    private long maxChecks = 0;
+	
     /**
      * The variance coefficient of time.
      */
@@ -262,6 +480,11 @@ public class StatisticTest {
      */
     private double vcNodes = 0.0;
 	
+    /**
+     * The variance coefficient of consistency checks.
+     */
+    private double vcChecks = 0.0;
+	
     /**
      * It creates a statistic test.
      */
@@ -299,6 +522,132 @@ public class StatisticTest {
 	}
     }
 	
+    /**
+     * It generates problems and solves it with the search algorithm selected by 
+     * setAlgorithm().
+     * @param generator The problem generator used.
+     */
+    public void generateStatistics(ProblemGenerator generator) {
+	SearchAlgorithm<Integer> searchAlgorithm = null;
+	// it selects the search algorithm
+	switch (algorithm) {
+	case FORWARD_CHECKING:
+	    searchAlgorithm = new ForwardChecking<Integer>();
+	    break;
+	case BITSET_FORWARD_CHECKING:
+	    searchAlgorithm = new BitsetForwardChecking<Integer>();
+	    break;
+	case SPARSE_SET_FORWARD_CHECKING:
+	    searchAlgorithm = new SparseSetForwardChecking<Integer>();
+	    break;
+	case ITERATIVE_FORWARD_CHECKING:
+	    searchAlgorithm = new IterativeForwardChecking<Integer>();
+	    break;
+	case MAINTAINING_ARC_CONSISTENCY:
+	    searchAlgorithm = new MaintainingArcConsistency<Integer>();
+	    ((MaintainingArcConsistency<Integer>)searchAlgorithm).setArcConsistency(
+				  createArcConsistency());
+	    break;
+	case FORWARD_CHECKING_CBJ:
+	    searchAlgorithm = new ForwardCheckingCBJ<Integer>();
+	    break;
+	case BACKMARKING:
+	    searchAlgorithm = new Backmarking<Integer>();
+	    break;
+	case BACKMARKING_CBJ:
+	    searchAlgorithm = new BackmarkingCBJ<Integer>();
+	    break;
+	case DYNAMIC_FORWARD_CHECKING:
+	    searchAlgorithm = new DynamicForwardChecking<Integer>();
+	    ((DynamicForwardChecking<Integer>)searchAlgorithm).setDynamicVariableHeuristic(
+				  createDynamicHeuristic());
+	    break;
+	case PORTFOLIO:
+	    searchAlgorithm = new PortfolioSearch<Integer>();
+	    break;
+	case PARALLEL_FORWARD_CHECKING:
+	    searchAlgorithm = new ParallelForwardChecking<Integer>();
+	    break;
+	case DECOMPOSITION_FORWARD_CHECKING:
+	    searchAlgorithm = new ParallelForwardChecking<Integer>();
+	    ((ParallelForwardChecking<Integer>)searchAlgorithm).setMode(
+				  ParallelForwardChecking.DECOMPOSITION);
+	    break;
+	default:
+	    searchAlgorithm = new ForwardChecking<Integer>();
+	    break;
+	}
+	if(preprocessing && searchAlgorithm instanceof ForwardChecking) {
+	    ((ForwardChecking<Integer>)searchAlgorithm).setPreprocessing(createArcConsistency());
+	}
+	if(nogoodRecording && searchAlgorithm instanceof DynamicForwardChecking) {
+	    ((DynamicForwardChecking<Integer>)searchAlgorithm).setNogoodBase(new NogoodBase());
+	}
+	// it selects the restart strategy
+	switch (restartStrategy) {
+	case LUBY_RESTARTS:
+	    searchAlgorithm = new RestartSearch<Integer>(searchAlgorithm, RestartSearch.LUBY, seed);
+	    break;
+	case GEOMETRIC_RESTARTS:
+	    searchAlgorithm = new RestartSearch<Integer>(searchAlgorithm, RestartSearch.GEOMETRIC, seed);
+	    break;
+	}
+	generateStatistics(generator, searchAlgorithm);
+    }
+	
+    /**
+     * It returns a new arc consistency algorithm, selected by setArcConsistency().
+     * @return the arc consistency algorithm.
+     */
+    private ArcConsistency createArcConsistency() {
+	switch (arcConsistency) {
+	case AC_3: return new AC3();
+	case AC_4: return new AC4();
+	default: return new AC2001();
+	}
+    }
+	
+    /**
+     * It returns a new dynamic variable heuristic, selected by setDynamicHeuristic().
+     * @return the dynamic variable heuristic.
+     */
+    private DynamicVariableHeuristic createDynamicHeuristic() {
+	switch (dynamicHeuristic) {
+	case DOM_HEURISTIC: return new DomainVariableHeuristic();
+	case DOM_DDEG_HEURISTIC: return new DomainDynamicDegreeVariableHeuristic();
+	case DOM_WDEG_HEURISTIC: return new DomainWeightedDegreeVariableHeuristic();
+	default: return new DomainDegreeVariableHeuristic();
+	}
+    }
+	
+    /**
+     * It returns the search algorithm restarted by a restart strategy, or the search 
+     * algorithm itself.
+     * @param algorithm The search algorithm.
+     * @return the search algorithm restarted.
+     */
+    private SearchAlgorithm<Integer> getRestarted(SearchAlgorithm<Integer> algorithm) {
+	if(algorithm instanceof RestartSearch) {
+	    return ((RestartSearch<Integer>)algorithm).getSearchAlgorithm();
+	}
+	return algorithm;
+    }
+	
+    /**
+     * It returns the arc consistency algorithm used by a search algorithm, or null.
+     * @param algorithm The search algorithm.
+     * @return the arc consistency algorithm.
+     */
+    private ArcConsistency getArcConsistency(SearchAlgorithm<Integer> algorithm) {
+	algorithm = getRestarted(algorithm);
+	if(algorithm instanceof MaintainingArcConsistency) {
+	    return ((MaintainingArcConsistency<Integer>)algorithm).getArcConsistency();
+	} else if(algorithm instanceof ForwardChecking) {
+	    return ((ForwardChecking<Integer>)algorithm).getPreprocessing();
+	}
+	return null;
+    }
+	
     /**
      * It generates problems and solves it.
      * @param generator The problem generator used.
@@ -316,7 +665,9 @@ public class StatisticTest {
 							      "E yyyy.MM.dd 'at' hh:mm:ss a zzz");
 	    printOnFile("\n\n" + formatter.format(now.getTime()) + "\n");
 	    printOnFile("N\tD\td\tT\tMIN(Time)\tMAX(Time)\tAV(Time)\tVAR(Time)\tSD(Time)\tVC(Time)\tSKEW(Time)\tKURT(Time)" + 
-"\tMIN(Nodes)\tMAX(Nodes)\tAV(Nodes)\tVAR(Nodes)\tSD(Nodes)\tVC(Nodes)\tSKEW(Nodes)\tKURT(Nodes)");
+"\tMIN(Nodes)\tMAX(Nodes)\tAV(Nodes)\tVAR(Nodes)\tSD(Nodes)\tVC(Nodes)\tSKEW(Nodes)\tKURT(Nodes)" +
+"\tMIN(Checks)\tMAX(Checks)\tAV(Checks)\tVAR(Checks)\tSD(Checks)\tVC(Checks)\tSKEW(Checks)\tKURT(Checks)" +
+"\tAV(Restarts)\tMAX(Restarts)");
 
 	    // This cycle is used to change N, D, d or T values. 
 	    for (int m = 0; m < numOfTest; m++) {
@@ -340,6 +691,20 @@ public class StatisticTest {
 		skewnessNodes = 0.0;
 		kurtosisTime = 0.0;
 		kurtosisNodes = 0.0;
+		checks = new long[iterations];
+		restarts = new long[iterations];
+		averageRestarts = 0.0;
+		maxRestarts = 0;
+		insoluble = 0;
+		memory = 0;
+		averageChecks = 0.0;
+		varianceChecks = 0.0;
+		minChecks = Long.MAX_VALUE;
+		maxChecks = 0;
+		sdChecks = 0.0;
+		vcChecks = 0.0;
+		skewnessChecks = 0.0;
+		kurtosisChecks = 0.0;
 				
 		System.out.print("\nTest n." + m);
 				
@@ -413,9 +778,21 @@ public class StatisticTest {
 			time2 = Calendar.getInstance();
 			times[i] = time2.getTimeInMillis() - time1.getTimeInMillis();
 			nodes[i] = algorithm.getNodesVisited();
+			checks[i] = algorithm.getConsistencyChecks();
+			if(algorithm instanceof RestartSearch) {
+			    restarts[i] = ((RestartSearch<Integer>)algorithm).getRestarts();
+			}
+			if(getRestarted(algorithm) instanceof ForwardChecking && 
+			   ((ForwardChecking<Integer>)getRestarted(algorithm)).isInsoluble()) {
+			    insoluble++;
+			}
+			ArcConsistency ac = getArcConsistency(algorithm);
+			if(ac != null && ac.getMemory() > memory) {
+			    memory = ac.getMemory();
+			}
 		    }
 		    //csp.printProblem();
-		    //csp.printLastSolution();
+		    //searchAlgorithm.printLastSolution();
 					
 		} // end iterations
 		System.out.println(" executed!");
@@ -428,10 +805,17 @@ public class StatisticTest {
 		    if(times[i] > maxTime) { maxTime = times[i]; }
 		    if(nodes[i] < minNodes) { minNodes = nodes[i]; }
 		    if(nodes[i] > maxNodes) { maxNodes = nodes[i]; }
+		    averageChecks = averageChecks + checks[i];
+		    if(checks[i] < minChecks) { minChecks = checks[i]; }
+		    if(checks[i] > maxChecks) { maxChecks = checks[i]; }
+		    averageRestarts = averageRestarts + restarts[i];
+		    if(restarts[i] > maxRestarts) { maxRestarts = restarts[i]; }
 		}
 		if(iterations > 0) {
 		    averageTime = averageTime / iterations;
 		    averageNodes = averageNodes / iterations;
+		    averageChecks = averageChecks / iterations;
+		    averageRestarts = averageRestarts / iterations;
 		}
 		//it computes variances, skewness, kurtosis
 		for (int i = 0; i < iterations; i++) {
@@ -441,6 +825,9 @@ public class StatisticTest {
 		    skewnessNodes = skewnessNodes + Math.pow(nodes[i] - averageNodes, 3);
 		    kurtosisTime = kurtosisTime + Math.pow(times[i] - averageTime, 4);
 		    kurtosisNodes = kurtosisNodes + Math.pow(nodes[i] - averageNodes, 4);
+		    varianceChecks = varianceChecks + Math.pow(checks[i] - averageChecks, 2);
+		    skewnessChecks = skewnessChecks + Math.pow(checks[i] - averageChecks, 3);
+		    kurtosisChecks = kurtosisChecks + Math.pow(checks[i] - averageChecks, 4);
 		}
 		if(iterations > 0) {
 		    varianceTime = varianceTime / iterations;
@@ -449,10 +836,15 @@ public class StatisticTest {
 		    varianceNodes = varianceNodes / iterations;
 		    skewnessNodes = skewnessNodes / iterations;
 		    kurtosisNodes = kurtosisNodes / iterations;
+		    varianceChecks = varianceChecks / iterations;
+		    skewnessChecks = skewnessChecks / iterations;
+		    kurtosisChecks = kurtosisChecks / iterations;
 		    sdTime = Math.sqrt(varianceTime);
 		    if(averageTime != 0) vcTime = sdTime / averageTime;
 		    sdNodes = Math.sqrt(varianceNodes);
 		    if(averageNodes != 0) vcNodes = sdNodes / averageNodes;
+		    sdChecks = Math.sqrt(varianceChecks);
+		    if(averageChecks != 0) vcChecks = sdChecks / averageChecks;
 		    if(sdTime != 0) {
 			skewnessTime = skewnessTime / Math.pow(sdTime, 3);
 			kurtosisTime = kurtosisTime / Math.pow(sdTime, 4);
@@ -467,6 +859,13 @@ public class StatisticTest {
 			skewnessNodes = 0.0;
 			kurtosisNodes = 0.0;	
 		    }
+		    if(sdChecks != 0) {
+			skewnessChecks = skewnessChecks / Math.pow(sdChecks, 3);
+			kurtosisChecks = kurtosisChecks / Math.pow(sdChecks, 4);
+		    } else {
+			skewnessChecks = 0.0;
+			kurtosisChecks = 0.0;	
+		    }
 		}
 		printTestResults();
 
@@ -512,6 +911,28 @@ public class StatisticTest {
 	System.out.println("\tVariance coefficient nodes:\t" + vcNodes);
 	System.out.println("\tSkewness nodes:\t\t\t" + skewnessNodes);
 	System.out.println("\tKurtosis nodes:\t\t\t" + kurtosisNodes);
+	System.out.println("  - Statistics about consistency checks:");
+	System.out.println("\tMinimum checks:\t\t\t" + minChecks + " checks");
+	System.out.println("\tMaximum checks:\t\t\t" + maxChecks + " checks");
+	System.out.println("\tAverage checks:\t\t\t" + averageChecks + " checks");
+	System.out.println("\tVariance checks:\t\t" + varianceChecks + " checks^2");
+	System.out.println("\tStandard deviation checks:\t" + sdChecks + " checks");
+	System.out.println("\tVariance coefficient checks:\t" + vcChecks);
+	System.out.println("\tSkewness checks:\t\t" + skewnessChecks);
+	System.out.println("\tKurtosis checks:\t\t" + kurtosisChecks);
+	if(searchAlgorithm instanceof RestartSearch) {
+	    System.out.println("  - Statistics about restarts:");
+	    System.out.println("\tAverage restarts:\t\t" + averageRestarts + " restarts");
+	    System.out.println("\tMaximum restarts:\t\t" + maxRestarts + " restarts");
+	}
+	if(getRestarted(searchAlgorithm) instanceof ForwardChecking && 
+	   ((ForwardChecking<Integer>)getRestarted(searchAlgorithm)).getPreprocessing() != null) {
+	    System.out.println("  - Problems proved insoluble by the preprocessing:\t" + insoluble);
+	}
+	if(getArcConsistency(searchAlgorithm) != null) {
+	    System.out.println("  - Maximum memory of " + getArcConsistency(searchAlgorithm).toString() + 
+			       ":\t" + memory + " bytes");
+	}
 	printOnFile(String.valueOf(N) + "\t" + String.valueOf(D) + "\t" +
 		    String.valueOf(d) + "\t" + String.valueOf(T) + "\t" +
 		    String.valueOf(minTime) + "\t" + String.valueOf(maxTime) + "\t" +
@@ -521,7 +942,12 @@ public class StatisticTest {
 		    String.valueOf(minNodes) + "\t" + String.valueOf(maxNodes) + "\t" +
 		    String.valueOf(averageNodes) + "\t" + String.valueOf(varianceNodes) + "\t" +
 		    String.valueOf(sdNodes) + "\t" + String.valueOf(vcNodes) + "\t" +
-		    String.valueOf(skewnessNodes) + "\t" + String.valueOf(kurtosisNodes));
+		    String.valueOf(skewnessNodes) + "\t" + String.valueOf(kurtosisNodes) + "\t" +
+		    String.valueOf(minChecks) + "\t" + String.valueOf(maxChecks) + "\t" +
+		    String.valueOf(averageChecks) + "\t" + String.valueOf(varianceChecks) + "\t" +
+		    String.valueOf(sdChecks) + "\t" + String.valueOf(vcChecks) + "\t" +
+		    String.valueOf(skewnessChecks) + "\t" + String.valueOf(kurtosisChecks) + "\t" +
+		    String.valueOf(averageRestarts) + "\t" + String.valueOf(maxRestarts));
     }
 	
     /**
@@ -556,6 +982,95 @@ public class StatisticTest {
 	return variableHeuristic;
     }
 
+    /**
+     * It returns the search algorithm
+     * @return the algorithm
+     */
+    public int getAlgorithm() {
+	return algorithm;
+    }
+
+    /**
+     * It returns true if the forward checking algorithms run arc consistency before the search.
+     * @return the preprocessing
+     */
+    public boolean isPreprocessing() {
+	return preprocessing;
+    }
+
+    /**
+     * It returns the arc consistency algorithm used by MAC and by the preprocessing.
+     * @return the arc consistency algorithm
+     */
+    public int getArcConsistency() {
+	return arcConsistency;
+    }
+
+    /**
+     * It returns the dynamic variable heuristic used by the dynamic forward checking.
+     * @return the dynamic variable heuristic
+     */
+    public int getDynamicHeuristic() {
+	return dynamicHeuristic;
+    }
+
+    /**
+     * It returns the maximum memory used by the arc consistency algorithm on the last test, 
+     * in bytes.
+     * @return the memory
+     */
+    public long getMemory() {
+	return memory;
+    }
+
+    /**
+     * It returns the number of problems proved insoluble by the preprocessing on the last test.
+     * @return the insoluble problems
+     */
+    public int getInsoluble() {
+	return insoluble;
+    }
+
+    /**
+     * It returns the average of the number of restarts on the last test.
+     * @return the average of restarts
+     */
+    public double getAverageRestarts() {
+	return averageRestarts;
+    }
+
+    /**
+     * It returns the maximum number of restarts on the last test.
+     * @return the maximum of restarts
+     */
+    public long getMaxRestarts() {
+	return maxRestarts;
+    }
+
+    /**
+     * It returns the restart strategy around the search algorithm.
+     * @return the restart strategy
+     */
+    public int getRestartStrategy() {
+	return restartStrategy;
+    }
+
+    /**
+     * It returns true if the dynamic forward checking records nogoods at the restarts.
+     * @return the nogood recording
+     */
+    public boolean isNogoodRecording() {
+	return nogoodRecording;
+    }
+
+    /**
+     * It returns the seed of the random tie-breaking used by the restarts.
+     * @return the seed
+     */
+    public long getSeed() {
+	return seed;
+    }
+
     /**
      * It returns the value-heuristic
      * @return the heuristic
@@ -672,6 +1187,67 @@ public class StatisticTest {
 	    this.valueHeuristic = valueHeuristic;
     }
 	
+    /**
+     * It sets the search algorithm used by generateStatistics(generator).
+     * @param algorithm the algorithm to set
+     */
+    public void setAlgorithm(int algorithm) {
+	if(algorithm >= 1 && algorithm <= 12)
+	    this.algorithm = algorithm;
+    }
+	
+    /**
+     * It sets the arc consistency preprocessing of the forward checking algorithms used by 
+     * generateStatistics(generator) (see setArcConsistency()).
+     * @param preprocessing the preprocessing to set
+     */
+    public void setPreprocessing(boolean preprocessing) {
+	this.preprocessing = preprocessing;
+    }
+	
+    /**
+     * It sets the arc consistency algorithm used by MAC and by the preprocessing.
+     * @param arcConsistency the arc consistency algorithm to set
+     */
+    public void setArcConsistency(int arcConsistency) {
+	if(arcConsistency >= 1 && arcConsistency <= 3)
+	    this.arcConsistency = arcConsistency;
+    }
+	
+    /**
+     * It sets the dynamic variable heuristic used by the dynamic forward checking.
+     * @param dynamicHeuristic the dynamic variable heuristic to set
+     */
+    public void setDynamicHeuristic(int dynamicHeuristic) {
+	if(dynamicHeuristic >= 1 && dynamicHeuristic <= 4)
+	    this.dynamicHeuristic = dynamicHeuristic;
+    }
+	
+    /**
+     * It sets the restart strategy around the search algorithm.
+     * @param restartStrategy the restart strategy to set
+     */
+    public void setRestartStrategy(int restartStrategy) {
+	if(restartStrategy >= 0 && restartStrategy <= 2)
+	    this.restartStrategy = restartStrategy;
+    }
+	
+    /**
+     * It sets the seed of the random tie-breaking used by the restarts.
+     * @param seed the seed to set
+     */
+    public void setSeed(long seed) {
+	this.seed = seed;
+    }
+	
+    /**
+     * It sets the nogood recording of the dynamic forward checking at the restarts.
+     * @param nogoodRecording true to record nogoods
+     */
+    public void setNogoodRecording(boolean nogoodRecording) {
+	this.nogoodRecording = nogoodRecording;
+    }
+	
     /**
      * It sets the number of iterations with the same configuration (the accuracy of the average).
      * @param iterations the iterations to set
@@ -889,4 +1465,68 @@ public class StatisticTest {
 	return kurtosisNodes;
     }
 	
+    /**
+     * It returns the array of consistency checks on the last test.
+     * @return the checks
+     */
+    public long[] getChecks() {
+	return checks;
+    }
+
+    /**
+     * It returns the average of consistency checks on the last test.
+     * @return the averageChecks
+     */
+    public double getAverageChecks() {
+	return averageChecks;
+    }
+
+    /**
+     * It returns the variance of consistency checks on the last test.
+     * @return the varianceChecks
+     */
+    public double getVarianceChecks() {
+	return varianceChecks;
+    }
+
+    /**
+     * It returns the minimum number of consistency checks on the last test.
+     * @return the minChecks
+     */
+    public long getMinimumChecks() {
+	return minChecks;
+    }
+
+    /**
+     * It returns the maximum number of consistency checks on the last test.
+     * @return the maxChecks
+     */
+    public long getMaximumChecks() {
+	return maxChecks;
+    }
+
+    /**
+     * It returns the standard deviation of the number of consistency checks on the last test.
+     * @return the sdChecks
+     */
+    public double getStandardDeviationChecks() {
+	return sdChecks;
+    }
+
+    /**
+     * It returns the skewness of the number of consistency checks on the last test.
+     * @return the skewnessChecks
+     */
+    public double getSkewnessChecks() {
+	return skewnessChecks;
+    }
+
+    /**
+     * It returns the kurtosis of the number of consistency checks on the last test.
+     * @return the kurtosisChecks
+     */
+    public double getKurtosisChecks() {
+	return kurtosisChecks;
+    }
+	
 }